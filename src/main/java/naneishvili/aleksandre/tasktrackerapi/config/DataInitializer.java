@@ -11,6 +11,7 @@ import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
 import naneishvili.aleksandre.tasktrackerapi.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -29,8 +30,13 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Override
     public void run(String... args) throws Exception {
+        alignTaskSequence();
+
         if (userRepository.count() == 0) {
             initializeData();
         }
@@ -71,6 +77,18 @@ public class DataInitializer implements CommandLineRunner {
         createTask("Contact Form", "Create contact form with validation", project4, null, TaskStatus.TODO, Priority.LOW);
     }
 
+    // Task ids used to come from an IDENTITY column. A database created back then gets a fresh
+    // sequence starting at 1, so move it past the existing rows before anything is inserted.
+    private void alignTaskSequence() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from tasks", Long.class);
+        Long nextValue = jdbcTemplate.queryForObject("select next value for " + Task.ID_SEQUENCE, Long.class);
+
+        if (nextValue <= maxId) {
+            jdbcTemplate.execute("alter sequence " + Task.ID_SEQUENCE
+                    + " restart with " + (maxId + Task.ID_ALLOCATION_SIZE + 1));
+        }
+    }
+
     private User createUser(String email, Role role) {
         User user = new User();
         user.setEmail(email);
@@ -0,0 +1,87 @@
+package naneishvili.aleksandre.tasktrackerapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Hibernate second-level cache for the rows read on nearly every request: users by id and by email
+// (natural id) and projects by id. Regions are built here so their limits sit in application.properties;
+// Hibernate keeps them current on entity writes and drops a whole region on bulk HQL against it.
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String USER_REGION = User.class.getName();
+    public static final String USER_NATURAL_ID_REGION = User.class.getName() + "##NaturalId";
+    public static final String PROJECT_REGION = Project.class.getName();
+
+    @Value("${entity-cache.user.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${entity-cache.user.ttl:10m}")
+    private Duration userTtl;
+
+    @Value("${entity-cache.project.max-size:10000}")
+    private long projectMaxSize;
+
+    @Value("${entity-cache.project.ttl:10m}")
+    private Duration projectTtl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager per application context, so test contexts never share or close each other's regions.
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("tasktracker:entity-cache:" + Integer.toHexString(System.identityHashCode(this))),
+                getClass().getClassLoader());
+
+        createRegion(cacheManager, USER_REGION, "users", userMaxSize, userTtl);
+        createRegion(cacheManager, USER_NATURAL_ID_REGION, "userEmails", userMaxSize, userTtl);
+        createRegion(cacheManager, PROJECT_REGION, "projects", projectMaxSize, projectTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private void createRegion(CacheManager cacheManager, String region, String metricName,
+                              long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate stores immutable disassembled state, so copying entries on every read buys nothing.
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.unwrap(Cache.class), metricName);
+    }
+}
@@ -0,0 +1,72 @@
+package naneishvili.aleksandre.tasktrackerapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Sends read-only transactions to the replica and everything else to the primary. A client whose write
+// committed within the read-your-writes window keeps reading from the primary until the window passes.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only set after the transaction
+// manager has asked for its connection.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            boolean wroteRecently = client != null && recentWriters.getIfPresent(client) != null;
+            return wroteRecently ? Target.PRIMARY : Target.REPLICA;
+        }
+
+        if (client != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(client, Boolean.TRUE);
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+
+    // The authenticated user where there is one, otherwise the caller's address, so that
+    // register-then-login from the same client is also covered.
+    private String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return "address:" + servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package naneishvili.aleksandre.tasktrackerapi.controller;
+
+import naneishvili.aleksandre.tasktrackerapi.exception.PreconditionFailedException;
+
+// Entity versions travel as strong ETags ("3"); If-Match is turned back into the expected version.
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Null when the header is absent or "*", meaning the write is unconditional.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not name a current version: " + ifMatch);
+        }
+    }
+}
@@ -1,22 +1,29 @@
 package naneishvili.aleksandre.tasktrackerapi.controller;
 
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.ProjectResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskStatsResponse;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
 import naneishvili.aleksandre.tasktrackerapi.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -29,41 +36,73 @@ public class ProjectController {
 
     @PostMapping
     public ResponseEntity<ProjectResponse> createProject(@Valid @RequestBody ProjectCreateRequest request,
-                                                         Authentication authentication) {
-        String userEmail = authentication.getName();
-        ProjectResponse projectResponse = projectService.createProject(request, userEmail);
+                                                         CurrentUser currentUser) {
+        ProjectResponse projectResponse = projectService.createProject(request, currentUser);
         return new ResponseEntity<>(projectResponse, HttpStatus.CREATED);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects(Authentication authentication) {
-        String userEmail = authentication.getName();
-        List<ProjectResponse> projects = projectService.getAllProjects(userEmail);
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(CurrentUser currentUser) {
+        List<ProjectResponse> projects = projectService.getAllProjects(currentUser);
         return ResponseEntity.ok(projects);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id,
-                                                          Authentication authentication) {
-        String userEmail = authentication.getName();
-        ProjectResponse projectResponse = projectService.getProjectById(id, userEmail);
-        return ResponseEntity.ok(projectResponse);
+                                                          CurrentUser currentUser) {
+        ProjectResponse projectResponse = projectService.getProjectById(id, currentUser);
+        return withETag(projectResponse);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStatsTotals(CurrentUser currentUser) {
+        TaskStatsResponse stats = projectService.getTaskStatsTotals(currentUser);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<TaskStatsResponse> getProjectTaskStats(@PathVariable Long id,
+                                                                 CurrentUser currentUser) {
+        TaskStatsResponse stats = projectService.getProjectTaskStats(id, currentUser);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTaskEvents(@PathVariable Long id,
+                                            CurrentUser currentUser) {
+        return projectService.subscribeToTaskEvents(id, currentUser);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ProjectResponse> updateProject(@PathVariable Long id,
                                                          @Valid @RequestBody ProjectUpdateRequest request,
-                                                         Authentication authentication) {
-        String userEmail = authentication.getName();
-        ProjectResponse projectResponse = projectService.updateProject(id, request, userEmail);
-        return ResponseEntity.ok(projectResponse);
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         CurrentUser currentUser) {
+        ProjectResponse projectResponse = projectService.updateProject(id, request, ETags.expectedVersion(ifMatch),
+                currentUser);
+        return withETag(projectResponse);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchProject(@PathVariable Long id,
+                                             @Valid @RequestBody ProjectPatchRequest request,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             CurrentUser currentUser) {
+        Long version = projectService.patchProject(id, request, ETags.expectedVersion(ifMatch), currentUser);
+        return ResponseEntity.noContent().eTag(ETags.of(version)).build();
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(@PathVariable Long id,
-                                              Authentication authentication) {
-        String userEmail = authentication.getName();
-        projectService.deleteProject(id, userEmail);
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              CurrentUser currentUser) {
+        projectService.deleteProject(id, ETags.expectedVersion(ifMatch), currentUser);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<ProjectResponse> withETag(ProjectResponse projectResponse) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(projectResponse.getVersion()))
+                .body(projectResponse);
+    }
+}
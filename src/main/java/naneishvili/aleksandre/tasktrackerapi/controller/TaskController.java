@@ -1,28 +1,42 @@
 package naneishvili.aleksandre.tasktrackerapi.controller;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkAssignRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskUpdateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.CursorPageResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskBulkResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskChangeResponse;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskResponse;
-import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
 import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
 import naneishvili.aleksandre.tasktrackerapi.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
@@ -32,84 +46,193 @@ public class TaskController {
 
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskCreateRequest request,
-                                                   Authentication authentication) {
-        String userEmail = authentication.getName();
-        TaskResponse taskResponse = taskService.createTask(request, userEmail);
+                                                   CurrentUser currentUser) {
+        TaskResponse taskResponse = taskService.createTask(request, currentUser);
         return new ResponseEntity<>(taskResponse, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TaskResponse>> createTasks(@Valid @RequestBody TaskBulkCreateRequest request,
+                                                          CurrentUser currentUser) {
+        List<TaskResponse> taskResponses = taskService.createTasks(request, currentUser);
+        return new ResponseEntity<>(taskResponses, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<TaskBulkResponse> updateTasks(@Valid @RequestBody TaskBulkUpdateRequest request,
+                                                        CurrentUser currentUser) {
+        TaskBulkResponse response = taskService.updateTasks(request, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    @PutMapping("/bulk/assign")
+    public ResponseEntity<TaskBulkResponse> assignTasks(@Valid @RequestBody TaskBulkAssignRequest request,
+                                                        CurrentUser currentUser) {
+        TaskBulkResponse response = taskService.assignTasks(request, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id,
-                                                    Authentication authentication) {
-        String userEmail = authentication.getName();
-        TaskResponse taskResponse = taskService.getTaskById(id, userEmail);
-        return ResponseEntity.ok(taskResponse);
+                                                    CurrentUser currentUser) {
+        TaskResponse taskResponse = taskService.getTaskById(id, currentUser);
+        return withETag(taskResponse);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(@PathVariable Long id,
                                                    @Valid @RequestBody TaskUpdateRequest request,
-                                                   Authentication authentication) {
-        String userEmail = authentication.getName();
-        TaskResponse taskResponse = taskService.updateTask(id, request, userEmail);
-        return ResponseEntity.ok(taskResponse);
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   CurrentUser currentUser) {
+        TaskResponse taskResponse = taskService.updateTask(id, request, ETags.expectedVersion(ifMatch), currentUser);
+        return withETag(taskResponse);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchTask(@PathVariable Long id,
+                                          @Valid @RequestBody TaskPatchRequest request,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          CurrentUser currentUser) {
+        Long version = taskService.patchTask(id, request, ETags.expectedVersion(ifMatch), currentUser);
+        return ResponseEntity.noContent().eTag(ETags.of(version)).build();
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id,
-                                           Authentication authentication) {
-        String userEmail = authentication.getName();
-        taskService.deleteTask(id, userEmail);
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           CurrentUser currentUser) {
+        taskService.deleteTask(id, ETags.expectedVersion(ifMatch), currentUser);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}/assign/{userId}")
     public ResponseEntity<TaskResponse> assignTaskToUser(@PathVariable Long id,
                                                          @PathVariable Long userId,
-                                                         Authentication authentication) {
-        String userEmail = authentication.getName();
-        TaskResponse taskResponse = taskService.assignTaskToUser(id, userId, userEmail);
-        return ResponseEntity.ok(taskResponse);
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         CurrentUser currentUser) {
+        TaskResponse taskResponse = taskService.assignTaskToUser(id, userId, ETags.expectedVersion(ifMatch),
+                currentUser);
+        return withETag(taskResponse);
     }
 
     @PutMapping("/{id}/status")
     public ResponseEntity<TaskResponse> updateTaskStatus(@PathVariable Long id,
                                                          @RequestParam TaskStatus status,
-                                                         Authentication authentication) {
-        String userEmail = authentication.getName();
-        TaskResponse taskResponse = taskService.updateTaskStatus(id, status, userEmail);
-        return ResponseEntity.ok(taskResponse);
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         CurrentUser currentUser) {
+        TaskResponse taskResponse = taskService.updateTaskStatus(id, status, ETags.expectedVersion(ifMatch),
+                currentUser);
+        return withETag(taskResponse);
     }
 
     @GetMapping("/project/{projectId}")
     public ResponseEntity<Page<TaskResponse>> getTasksByProject(@PathVariable Long projectId,
-                                                                @RequestParam(required = false) TaskStatus status,
-                                                                @RequestParam(required = false) Priority priority,
+                                                                TaskFilter filter,
                                                                 Pageable pageable,
-                                                                Authentication authentication) {
-        String userEmail = authentication.getName();
-        Page<TaskResponse> tasks = taskService.getTasksByProject(projectId, status, priority, pageable, userEmail);
+                                                                CurrentUser currentUser) {
+        Page<TaskResponse> tasks = taskService.getTasksByProject(projectId, filter, pageable, currentUser);
         return ResponseEntity.ok(tasks);
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<TaskResponse>> getTasksByAssignedUser(@PathVariable Long userId,
-                                                                     @RequestParam(required = false) TaskStatus status,
-                                                                     @RequestParam(required = false) Priority priority,
+                                                                     TaskFilter filter,
                                                                      Pageable pageable,
-                                                                     Authentication authentication) {
-        String userEmail = authentication.getName();
-        Page<TaskResponse> tasks = taskService.getTasksByAssignedUser(userId, status, priority, pageable, userEmail);
+                                                                     CurrentUser currentUser) {
+        Page<TaskResponse> tasks = taskService.getTasksByAssignedUser(userId, filter, pageable, currentUser);
         return ResponseEntity.ok(tasks);
     }
 
     @GetMapping("/my-tasks")
-    public ResponseEntity<Page<TaskResponse>> getMyAssignedTasks(@RequestParam(required = false) TaskStatus status,
-                                                                 @RequestParam(required = false) Priority priority,
+    public ResponseEntity<Page<TaskResponse>> getMyAssignedTasks(TaskFilter filter,
                                                                  Pageable pageable,
-                                                                 Authentication authentication) {
-        String userEmail = authentication.getName();
-        Page<TaskResponse> tasks = taskService.getMyAssignedTasks(status, priority, pageable, userEmail);
+                                                                 CurrentUser currentUser) {
+        Page<TaskResponse> tasks = taskService.getMyAssignedTasks(filter, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(value = "/project/{projectId}", params = {"count=false", "!cursor"})
+    public ResponseEntity<Slice<TaskResponse>> getTaskSliceByProject(@PathVariable Long projectId,
+                                                                     TaskFilter filter,
+                                                                     Pageable pageable,
+                                                                     CurrentUser currentUser) {
+        Slice<TaskResponse> tasks = taskService.getTaskSliceByProject(projectId, filter, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = {"count=false", "!cursor"})
+    public ResponseEntity<Slice<TaskResponse>> getTaskSliceByAssignedUser(@PathVariable Long userId,
+                                                                          TaskFilter filter,
+                                                                          Pageable pageable,
+                                                                          CurrentUser currentUser) {
+        Slice<TaskResponse> tasks = taskService.getTaskSliceByAssignedUser(userId, filter, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(value = "/my-tasks", params = {"count=false", "!cursor"})
+    public ResponseEntity<Slice<TaskResponse>> getMyAssignedTaskSlice(TaskFilter filter,
+                                                                      Pageable pageable,
+                                                                      CurrentUser currentUser) {
+        Slice<TaskResponse> tasks = taskService.getMyAssignedTaskSlice(filter, pageable, currentUser);
         return ResponseEntity.ok(tasks);
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/project/{projectId}", params = "cursor")
+    public ResponseEntity<CursorPageResponse<TaskResponse>> scrollTasksByProject(@PathVariable Long projectId,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 TaskFilter filter,
+                                                                                 Pageable pageable,
+                                                                                 CurrentUser currentUser) {
+        CursorPageResponse<TaskResponse> tasks = taskService.scrollTasksByProject(projectId, filter, cursor, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "cursor")
+    public ResponseEntity<CursorPageResponse<TaskResponse>> scrollTasksByAssignedUser(@PathVariable Long userId,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      TaskFilter filter,
+                                                                                      Pageable pageable,
+                                                                                      CurrentUser currentUser) {
+        CursorPageResponse<TaskResponse> tasks = taskService.scrollTasksByAssignedUser(userId, filter, cursor, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping(value = "/my-tasks", params = "cursor")
+    public ResponseEntity<CursorPageResponse<TaskResponse>> scrollMyAssignedTasks(@RequestParam(required = false) String cursor,
+                                                                                  TaskFilter filter,
+                                                                                  Pageable pageable,
+                                                                                  CurrentUser currentUser) {
+        CursorPageResponse<TaskResponse> tasks = taskService.scrollMyAssignedTasks(filter, cursor, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Slice<TaskResponse>> searchTasks(@RequestParam(required = false) String q,
+                                                           Pageable pageable,
+                                                           CurrentUser currentUser) {
+        Slice<TaskResponse> tasks = taskService.searchTasks(q, pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping("/overdue")
+    public ResponseEntity<Slice<TaskResponse>> getOverdueTasks(Pageable pageable,
+                                                               CurrentUser currentUser) {
+        Slice<TaskResponse> tasks = taskService.getOverdueTasks(pageable, currentUser);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<CursorPageResponse<TaskChangeResponse>> getTaskChanges(
+            @RequestParam(required = false) String since,
+            Pageable pageable,
+            CurrentUser currentUser) {
+        CursorPageResponse<TaskChangeResponse> changes = taskService.getTaskChanges(since, pageable, currentUser);
+        return ResponseEntity.ok(changes);
+    }
+
+    private ResponseEntity<TaskResponse> withETag(TaskResponse taskResponse) {
+        return ResponseEntity.ok()
+                .eTag(ETags.of(taskResponse.getVersion()))
+                .body(taskResponse);
+    }
+}
@@ -0,0 +1,62 @@
+package naneishvili.aleksandre.tasktrackerapi.controller;
+
+import jakarta.validation.Valid;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.WebhookCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookDeadLetterResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookResponse;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.WebhookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/projects/{projectId}/webhooks")
+public class WebhookController {
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @PostMapping
+    public ResponseEntity<WebhookResponse> createWebhook(@PathVariable Long projectId,
+                                                         @Valid @RequestBody WebhookCreateRequest request,
+                                                         CurrentUser currentUser) {
+        WebhookResponse webhookResponse = webhookService.createWebhook(projectId, request, currentUser);
+        return new ResponseEntity<>(webhookResponse, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<WebhookResponse>> getWebhooks(@PathVariable Long projectId,
+                                                             CurrentUser currentUser) {
+        List<WebhookResponse> webhooks = webhookService.getWebhooks(projectId, currentUser);
+        return ResponseEntity.ok(webhooks);
+    }
+
+    @DeleteMapping("/{webhookId}")
+    public ResponseEntity<Void> deleteWebhook(@PathVariable Long projectId,
+                                              @PathVariable Long webhookId,
+                                              CurrentUser currentUser) {
+        webhookService.deleteWebhook(projectId, webhookId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<Slice<WebhookDeadLetterResponse>> getDeadLetters(@PathVariable Long projectId,
+                                                                           Pageable pageable,
+                                                                           CurrentUser currentUser) {
+        Slice<WebhookDeadLetterResponse> deadLetters = webhookService.getDeadLetters(projectId, pageable,
+                currentUser);
+        return ResponseEntity.ok(deadLetters);
+    }
+}
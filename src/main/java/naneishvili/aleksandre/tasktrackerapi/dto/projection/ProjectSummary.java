@@ -0,0 +1,30 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ProjectSummary {
+    Long id;
+    String name;
+    String description;
+    UserSummary owner;
+    LocalDateTime createDate;
+    LocalDateTime updateDate;
+    Long version;
+
+    public ProjectSummary(Long id, String name, String description,
+                          LocalDateTime createDate, LocalDateTime updateDate, Long version,
+                          Long ownerId, String ownerEmail, Role ownerRole,
+                          LocalDateTime ownerCreateDate, LocalDateTime ownerUpdateDate) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.owner = new UserSummary(ownerId, ownerEmail, ownerRole, ownerCreateDate, ownerUpdateDate);
+        this.createDate = createDate;
+        this.updateDate = updateDate;
+        this.version = version;
+    }
+}
@@ -0,0 +1,16 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+
+@Value
+public class TaskAccess {
+    Long id;
+    Long projectId;
+    Long projectOwnerId;
+    Long assignedUserId;
+    TaskStatus status;
+    Priority priority;
+    Long version;
+}
@@ -0,0 +1,10 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+
+@Value
+public class TaskChange {
+    Long taskId;
+    Long changeSeq;
+    boolean deleted;
+}
@@ -0,0 +1,13 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+
+@Value
+public class TaskCount {
+    Long projectId;
+    TaskStatus status;
+    Priority priority;
+    Long count;
+}
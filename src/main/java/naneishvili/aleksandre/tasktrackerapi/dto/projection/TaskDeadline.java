@@ -0,0 +1,16 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+@Value
+public class TaskDeadline {
+    Long id;
+    LocalDate dueDate;
+    TaskStatus status;
+    Long projectId;
+    Long projectOwnerId;
+    Long assignedUserId;
+}
@@ -0,0 +1,13 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+
+@Value
+public class TaskSearchDocument {
+    Long id;
+    String title;
+    String description;
+    Long projectId;
+    Long projectOwnerId;
+    Long assignedUserId;
+}
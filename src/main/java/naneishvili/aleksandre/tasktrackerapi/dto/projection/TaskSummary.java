@@ -0,0 +1,48 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Value
+public class TaskSummary {
+    Long id;
+    String title;
+    String description;
+    TaskStatus status;
+    LocalDate dueDate;
+    Priority priority;
+    ProjectSummary project;
+    UserSummary assignedUser;
+    LocalDateTime createDate;
+    LocalDateTime updateDate;
+    Long version;
+
+    public TaskSummary(Long id, String title, String description, TaskStatus status, LocalDate dueDate,
+                       Priority priority, LocalDateTime createDate, LocalDateTime updateDate, Long version,
+                       Long projectId, String projectName, String projectDescription,
+                       LocalDateTime projectCreateDate, LocalDateTime projectUpdateDate, Long projectVersion,
+                       Long ownerId, String ownerEmail, Role ownerRole,
+                       LocalDateTime ownerCreateDate, LocalDateTime ownerUpdateDate,
+                       Long assignedUserId, String assignedUserEmail, Role assignedUserRole,
+                       LocalDateTime assignedUserCreateDate, LocalDateTime assignedUserUpdateDate) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.project = new ProjectSummary(projectId, projectName, projectDescription,
+                projectCreateDate, projectUpdateDate, projectVersion,
+                ownerId, ownerEmail, ownerRole, ownerCreateDate, ownerUpdateDate);
+        this.assignedUser = assignedUserId == null ? null : new UserSummary(assignedUserId, assignedUserEmail,
+                assignedUserRole, assignedUserCreateDate, assignedUserUpdateDate);
+        this.createDate = createDate;
+        this.updateDate = updateDate;
+        this.version = version;
+    }
+}
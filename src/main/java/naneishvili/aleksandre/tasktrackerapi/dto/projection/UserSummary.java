@@ -0,0 +1,15 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.projection;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+
+import java.time.LocalDateTime;
+
+@Value
+public class UserSummary {
+    Long id;
+    String email;
+    Role role;
+    LocalDateTime createDate;
+    LocalDateTime updateDate;
+}
@@ -0,0 +1,17 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.Optional;
+
+// JSON Merge Patch body: a field left out is null (unchanged), a field sent as null is Optional.empty() (cleared).
+@Data
+public class ProjectPatchRequest {
+
+    private Optional<@NotBlank(message = "Project name is required")
+            @Size(max = 255, message = "Project name should not exceed 255 characters") String> name;
+
+    private Optional<@Size(max = 1000, message = "Description should not exceed 1000 characters") String> description;
+}
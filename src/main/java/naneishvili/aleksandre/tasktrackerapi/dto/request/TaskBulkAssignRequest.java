@@ -0,0 +1,19 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBulkAssignRequest {
+
+    @NotEmpty(message = "At least one task ID is required")
+    @Size(max = 10000, message = "At most 10000 tasks can be updated per request")
+    private List<Long> taskIds;
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+}
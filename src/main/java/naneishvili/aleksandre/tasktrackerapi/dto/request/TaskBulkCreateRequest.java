@@ -0,0 +1,17 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBulkCreateRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 10000, message = "At most 10000 tasks can be created per request")
+    private List<TaskCreateRequest> tasks;
+}
@@ -0,0 +1,25 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBulkUpdateRequest {
+
+    @Size(max = 10000, message = "At most 10000 tasks can be updated per request")
+    private List<Long> taskIds;
+
+    private Long projectId;
+
+    @Valid
+    private TaskFilter filter;
+
+    private TaskStatus status;
+
+    private Priority priority;
+}
@@ -0,0 +1,35 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+@Data
+public class TaskFilter {
+
+    private Set<TaskStatus> status;
+
+    private Set<Priority> priority;
+
+    private Long assignedUserId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private boolean unassigned;
+
+    // Not a criterion: also list tasks moved to tasks_archive.
+    private boolean includeArchived;
+
+    public boolean isEmpty() {
+        return (status == null || status.isEmpty()) && (priority == null || priority.isEmpty())
+                && assignedUserId == null && dueFrom == null && dueTo == null && !unassigned;
+    }
+}
@@ -0,0 +1,38 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+// JSON Merge Patch body: a field left out is null (unchanged), a field sent as null is Optional.empty() (cleared).
+@Data
+public class TaskPatchRequest {
+
+    private Optional<@NotBlank(message = "Task title is required")
+            @Size(max = 255, message = "Title should not exceed 255 characters") String> title;
+
+    private Optional<@Size(max = 1000, message = "Description should not exceed 1000 characters") String> description;
+
+    private Optional<@NotNull(message = "Task status is required") TaskStatus> status;
+
+    private Optional<LocalDate> dueDate;
+
+    private Optional<@NotNull(message = "Task priority is required") Priority> priority;
+
+    private Optional<Long> assignedUserId;
+
+    public boolean isEmpty() {
+        return title == null && description == null && status == null && dueDate == null && priority == null &&
+                assignedUserId == null;
+    }
+
+    public boolean isStatusOnly() {
+        return title == null && description == null && dueDate == null && priority == null && assignedUserId == null;
+    }
+}
@@ -0,0 +1,15 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class WebhookCreateRequest {
+
+    @NotBlank(message = "Webhook URL is required")
+    @Size(max = 2000, message = "Webhook URL should not exceed 2000 characters")
+    @Pattern(regexp = "https?://\\S+", message = "Webhook URL must be an http or https URL")
+    private String url;
+}
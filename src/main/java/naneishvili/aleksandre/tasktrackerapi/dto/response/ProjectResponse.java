@@ -12,4 +12,5 @@ public class ProjectResponse {
     private UserResponse owner;
     private LocalDateTime createDate;
     private LocalDateTime updateDate;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import naneishvili.aleksandre.tasktrackerapi.enums.BulkOutcome;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskBulkResponse {
+    private int updated;
+    private List<Result> results;
+
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+        private Long taskId;
+        private BulkOutcome outcome;
+    }
+}
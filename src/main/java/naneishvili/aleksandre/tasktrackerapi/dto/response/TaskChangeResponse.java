@@ -0,0 +1,13 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A deleted change is a tombstone: the task is gone, or no longer visible to the caller, and has no body.
+@Data
+@AllArgsConstructor
+public class TaskChangeResponse {
+    private Long taskId;
+    private boolean deleted;
+    private TaskResponse task;
+}
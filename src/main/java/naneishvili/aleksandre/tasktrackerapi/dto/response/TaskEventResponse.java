@@ -0,0 +1,16 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+
+// task is only sent when the write had the whole row at hand; otherwise clients read it by id.
+@Data
+@AllArgsConstructor
+public class TaskEventResponse {
+    private TaskEventType type;
+    private Long projectId;
+    private Long taskId;
+    private Long version;
+    private TaskResponse task;
+}
@@ -19,4 +19,5 @@ public class TaskResponse {
     private UserResponse assignedUser;
     private LocalDateTime createDate;
     private LocalDateTime updateDate;
+    private Long version;
 }
\ No newline at end of file
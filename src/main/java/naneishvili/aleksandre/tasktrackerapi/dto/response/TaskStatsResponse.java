@@ -0,0 +1,17 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.response;
+
+import lombok.Data;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class TaskStatsResponse {
+    private Long projectId;
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private LocalDateTime reconciledAt;
+}
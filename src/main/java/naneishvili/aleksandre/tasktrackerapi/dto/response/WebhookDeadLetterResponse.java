@@ -0,0 +1,19 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class WebhookDeadLetterResponse {
+    private Long id;
+    private Long subscriptionId;
+    private String url;
+    private Long eventId;
+    @JsonRawValue
+    private String payload;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createDate;
+}
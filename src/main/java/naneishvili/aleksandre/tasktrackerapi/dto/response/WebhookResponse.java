@@ -0,0 +1,20 @@
+package naneishvili.aleksandre.tasktrackerapi.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// failures and nextAttemptAt show an endpoint that is being backed off. secret is only set in the
+// response to creating the webhook.
+@Data
+public class WebhookResponse {
+    private Long id;
+    private Long projectId;
+    private String url;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String secret;
+    private int failures;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createDate;
+}
@@ -8,29 +8,63 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
 import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_status_priority", columnList = "project_id, status, priority"),
+        @Index(name = "idx_tasks_project_due_date", columnList = "project_id, due_date"),
+        @Index(name = "idx_tasks_due_date", columnList = "due_date, id"),
+        @Index(name = "idx_tasks_project_create_date", columnList = "project_id, create_date, id"),
+        @Index(name = "idx_tasks_assignee_status_due_date", columnList = "assigned_user_id, status, due_date"),
+        @Index(name = "idx_tasks_status_update_date", columnList = "status, update_date"),
+        @Index(name = "idx_tasks_change_seq", columnList = "change_seq, id"),
+        @Index(name = "idx_tasks_assignee_change_seq", columnList = "assigned_user_id, change_seq, id")
+})
+@DynamicUpdate
+@NamedEntityGraph(
+        name = Task.WITH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "project", subgraph = "project-owner"),
+                @NamedAttributeNode("assignedUser")
+        },
+        subgraphs = @NamedSubgraph(name = "project-owner", attributeNodes = @NamedAttributeNode("owner"))
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
 
+    public static final String WITH_DETAILS = "Task.withDetails";
+
+    public static final String ID_SEQUENCE = "tasks_seq";
+
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id")
+    @SequenceGenerator(name = "task_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -65,4 +99,14 @@ public class Task {
     @UpdateTimestamp
     @Column(name = "update_date")
     private LocalDateTime updateDate;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Number of the last write from TaskChangeLog; GET /tasks/changes reads tasks in this order.
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
 }
\ No newline at end of file
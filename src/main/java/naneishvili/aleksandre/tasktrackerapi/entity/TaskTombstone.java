@@ -0,0 +1,52 @@
+package naneishvili.aleksandre.tasktrackerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Marks a task that left someone's view, so GET /tasks/changes can report it after the row is gone.
+// A deleted or archived task is gone for its project owner and assignee; a reassigned task is only
+// gone for its previous assignee, in which case projectOwnerId is null. Ids are plain columns because
+// the tombstone outlives the task and may outlive the users.
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_change_seq", columnList = "change_seq, task_id"),
+        @Index(name = "idx_task_tombstones_owner_change_seq", columnList = "project_owner_id, change_seq, task_id"),
+        @Index(name = "idx_task_tombstones_user_change_seq", columnList = "user_id, change_seq, task_id"),
+        @Index(name = "idx_task_tombstones_create_date", columnList = "create_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_owner_id")
+    private Long projectOwnerId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @CreationTimestamp
+    @Column(name = "create_date", nullable = false, updatable = false)
+    private LocalDateTime createDate;
+}
@@ -0,0 +1,56 @@
+package naneishvili.aleksandre.tasktrackerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// A delivery given up on after webhooks.max-attempts failed POSTs, kept with the last error so the
+// project owner can see what their endpoint missed.
+@Entity
+@Table(name = "webhook_dead_letters", indexes = {
+        @Index(name = "idx_webhook_dead_letters_project_id", columnList = "project_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false, length = 2000)
+    private String url;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "create_date", nullable = false, updatable = false)
+    private LocalDateTime createDate;
+}
@@ -0,0 +1,52 @@
+package naneishvili.aleksandre.tasktrackerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// One outbox event queued for one subscription until a POST carrying it succeeds. eventId is the
+// outbox event id, which receivers can use to drop the duplicates at-least-once delivery allows.
+@Entity
+@Table(name = "webhook_deliveries", indexes = {
+        @Index(name = "idx_webhook_deliveries_subscription_change_seq", columnList = "subscription_id, change_seq, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_delivery_id")
+    @SequenceGenerator(name = "webhook_delivery_id", sequenceName = "webhook_deliveries_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "subscription_id", nullable = false)
+    private Long subscriptionId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @CreationTimestamp
+    @Column(name = "create_date", nullable = false, updatable = false)
+    private LocalDateTime createDate;
+}
@@ -0,0 +1,52 @@
+package naneishvili.aleksandre.tasktrackerapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// An endpoint that receives a project's task and project events. Backoff is kept per subscription
+// rather than per delivery so a failing endpoint holds back its whole queue and receives events in order.
+@Entity
+@Table(name = "webhook_subscriptions", indexes = {
+        @Index(name = "idx_webhook_subscriptions_project_id", columnList = "project_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookSubscription {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false, length = 2000)
+    private String url;
+
+    // HMAC-SHA256 key for the signature header on each POST. Only the create response shows it.
+    @Column(nullable = false, length = 64)
+    private String secret;
+
+    // Consecutive failed POSTs; reset by the next successful one.
+    @Column(nullable = false)
+    private int failures;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @CreationTimestamp
+    @Column(name = "create_date", nullable = false, updatable = false)
+    private LocalDateTime createDate;
+}
@@ -0,0 +1,7 @@
+package naneishvili.aleksandre.tasktrackerapi.enums;
+
+public enum BulkOutcome {
+    UPDATED,
+    NOT_FOUND,
+    FORBIDDEN
+}
@@ -0,0 +1,6 @@
+package naneishvili.aleksandre.tasktrackerapi.enums;
+
+public enum DueDateAlert {
+    APPROACHING,
+    OVERDUE
+}
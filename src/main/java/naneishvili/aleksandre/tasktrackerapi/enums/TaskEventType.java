@@ -0,0 +1,9 @@
+package naneishvili.aleksandre.tasktrackerapi.enums;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    ASSIGNED,
+    STATUS_CHANGED,
+    DELETED
+}
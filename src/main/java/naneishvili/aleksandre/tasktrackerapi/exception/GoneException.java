@@ -0,0 +1,7 @@
+package naneishvili.aleksandre.tasktrackerapi.exception;
+
+public class GoneException extends RuntimeException {
+    public GoneException(String message) {
+        super(message);
+    }
+}
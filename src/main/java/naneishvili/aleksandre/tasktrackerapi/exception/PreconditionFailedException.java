@@ -0,0 +1,7 @@
+package naneishvili.aleksandre.tasktrackerapi.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package naneishvili.aleksandre.tasktrackerapi.mapper;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectCreateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.ProjectResponse;
@@ -16,14 +17,18 @@ public interface ProjectMapper {
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
     @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Project toEntity(ProjectCreateRequest request);
 
     ProjectResponse toResponse(Project project);
 
+    ProjectResponse toResponse(ProjectSummary project);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
     @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateEntity(ProjectUpdateRequest request, @MappingTarget Project project);
 }
\ No newline at end of file
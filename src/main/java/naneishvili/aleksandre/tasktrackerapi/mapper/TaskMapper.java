@@ -1,5 +1,6 @@
 package naneishvili.aleksandre.tasktrackerapi.mapper;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskCreateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskResponse;
@@ -16,14 +17,20 @@ public interface TaskMapper {
     @Mapping(target = "assignedUser", ignore = true)
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
     Task toEntity(TaskCreateRequest request);
 
     TaskResponse toResponse(Task task);
 
+    TaskResponse toResponse(TaskSummary task);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "project", ignore = true)
     @Mapping(target = "assignedUser", ignore = true)
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "changeSeq", ignore = true)
     void updateEntity(TaskUpdateRequest request, @MappingTarget Task task);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package naneishvili.aleksandre.tasktrackerapi.mapper;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.UserSummary;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.UserRegistrationRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.UserResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
@@ -10,11 +11,16 @@ import org.mapstruct.Mapping;
 public interface UserMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "updateDate", ignore = true)
     @Mapping(target = "ownedProjects", ignore = true)
     @Mapping(target = "assignedTasks", ignore = true)
+    @Mapping(target = "loadedRole", ignore = true)
+    @Mapping(target = "loadedPassword", ignore = true)
     User toEntity(UserRegistrationRequest request);
 
     UserResponse toResponse(User user);
+
+    UserResponse toResponse(UserSummary user);
 }
\ No newline at end of file
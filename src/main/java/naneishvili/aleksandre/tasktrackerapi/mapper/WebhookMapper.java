@@ -0,0 +1,17 @@
+package naneishvili.aleksandre.tasktrackerapi.mapper;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookDeadLetterResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookResponse;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDeadLetter;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface WebhookMapper {
+
+    @Mapping(target = "secret", ignore = true)
+    WebhookResponse toResponse(WebhookSubscription subscription);
+
+    WebhookDeadLetterResponse toResponse(WebhookDeadLetter deadLetter);
+}
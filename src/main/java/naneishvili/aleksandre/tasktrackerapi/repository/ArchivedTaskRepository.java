@@ -0,0 +1,31 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount;
+import naneishvili.aleksandre.tasktrackerapi.entity.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Modifying
+    @Query("insert into ArchivedTask (id, title, description, status, dueDate, priority, project, assignedUser, " +
+            "createDate, updateDate, version, archivedDate) " +
+            "select t.id, t.title, t.description, t.status, t.dueDate, t.priority, t.project, t.assignedUser, " +
+            "t.createDate, t.updateDate, t.version, :archivedDate from Task t where t.id in :ids")
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedDate") LocalDateTime archivedDate);
+
+    @Modifying
+    @Query("delete from ArchivedTask a where a.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount(" +
+            "a.project.id, a.status, a.priority, count(a)) " +
+            "from ArchivedTask a group by a.project.id, a.status, a.priority")
+    List<TaskCount> countGroupedByProjectStatusAndPriority();
+}
@@ -0,0 +1,25 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest events first, in the order their changes were numbered; ids order the rows of one change.
+    @Query("select e from OutboxEvent e where e.changeSeq <= :upTo order by e.changeSeq, e.id")
+    List<OutboxEvent> findRelayBatch(@Param("upTo") Long upTo, Limit limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select coalesce(max(e.changeSeq), 0) from OutboxEvent e")
+    long findMaxChangeSeq();
+}
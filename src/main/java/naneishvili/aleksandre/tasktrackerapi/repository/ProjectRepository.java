@@ -1,14 +1,40 @@
 package naneishvili.aleksandre.tasktrackerapi.repository;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary;
 import naneishvili.aleksandre.tasktrackerapi.entity.Project;
-import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    List<Project> findByOwner(User owner);
-}
\ No newline at end of file
+    @EntityGraph(Project.WITH_OWNER)
+    List<Project> findByIdIn(Collection<Long> ids);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary(" +
+            "p.id, p.name, p.description, p.createDate, p.updateDate, p.version, " +
+            "o.id, o.email, o.role, o.createDate, o.updateDate) " +
+            "from Project p join p.owner o")
+    List<ProjectSummary> findAllSummaries();
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary(" +
+            "p.id, p.name, p.description, p.createDate, p.updateDate, p.version, " +
+            "o.id, o.email, o.role, o.createDate, o.updateDate) " +
+            "from Project p join p.owner o where o.id = :ownerId")
+    List<ProjectSummary> findSummariesByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select p.owner.id from Project p where p.id = :projectId")
+    Optional<Long> findOwnerIdById(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("delete from Project p where p.id = :projectId and p.version = :version")
+    int deleteProjectById(@Param("projectId") Long projectId, @Param("version") Long version);
+}
@@ -0,0 +1,47 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Position in the change feed: the last change returned, as (change number, task id), and when the
+// client's current pass over the feed began, which bounds how old the tombstones it still needs can be.
+@Value
+public class TaskChangeCursor {
+
+    private static final String SEPARATOR = ":";
+
+    long changeSeq;
+    long taskId;
+    Instant issuedAt;
+
+    public static TaskChangeCursor first(Instant now) {
+        return new TaskChangeCursor(0, 0, now);
+    }
+
+    public static TaskChangeCursor decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new TaskChangeCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                Instant.ofEpochMilli(Long.parseLong(parts[2])));
+    }
+
+    public TaskChangeCursor after(TaskChange last, Instant issuedAt) {
+        return new TaskChangeCursor(last.getChangeSeq(), last.getTaskId(), issuedAt);
+    }
+
+    public TaskChangeCursor reissued(Instant issuedAt) {
+        return new TaskChangeCursor(changeSeq, taskId, issuedAt);
+    }
+
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + taskId + SEPARATOR + issuedAt.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+// Clients only see the encoded form: sort property, direction, and the last row's id and sort value.
+@Value
+public class TaskCursor {
+
+    public static final Set<String> SORT_PROPERTIES = Set.of("id", "createDate", "title");
+
+    private static final String SEPARATOR = ":";
+
+    String property;
+    Sort.Direction direction;
+    Comparable<?> value;
+    Long id;
+
+    public static TaskCursor first(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!SORT_PROPERTIES.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor pagination can only sort by " + SORT_PROPERTIES);
+        }
+        return new TaskCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    public static TaskCursor decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR, 4);
+        if (parts.length != 4 || !SORT_PROPERTIES.contains(parts[0])) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new TaskCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                parseValue(parts[0], parts[3]), Long.valueOf(parts[2]));
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public TaskCursor after(TaskSummary last) {
+        return new TaskCursor(property, direction, valueOf(property, last), last.getId());
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Comparable<?> valueOf(String property, TaskSummary summary) {
+        return switch (property) {
+            case "createDate" -> summary.getCreateDate();
+            case "title" -> summary.getTitle();
+            default -> summary.getId();
+        };
+    }
+
+    private static Comparable<?> parseValue(String property, String value) {
+        return switch (property) {
+            case "createDate" -> LocalDateTime.parse(value);
+            case "title" -> value;
+            default -> Long.valueOf(value);
+        };
+    }
+}
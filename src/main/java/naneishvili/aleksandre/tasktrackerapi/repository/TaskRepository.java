@@ -1,19 +1,111 @@
 package naneishvili.aleksandre.tasktrackerapi.repository;
 
+import jakarta.persistence.LockModeType;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSearchDocument;
 import naneishvili.aleksandre.tasktrackerapi.entity.Task;
-import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
 import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    Page<Task> findTasksByProjectId(Long projectId, Pageable pageable);
-    Page<Task> findTasksByAssignedUserId(Long userId, Pageable pageable);
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-    Page<Task> findTasksByProjectIdAndStatus(Long projectId, TaskStatus status, Pageable pageable);
-    Page<Task> findTasksByProjectIdAndPriority(Long projectId, Priority priority, Pageable pageable);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    Page<Task> findTasksByAssignedUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
-    Page<Task> findTasksByAssignedUserIdAndPriority(Long userId, Priority priority, Pageable pageable);
+    @Override
+    @EntityGraph(Task.WITH_DETAILS)
+    Optional<Task> findById(Long id);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess(" +
+            "t.id, p.id, p.owner.id, a.id, t.status, t.priority, t.version) " +
+            "from Task t join t.project p left join t.assignedUser a where t.id in :ids")
+    List<TaskAccess> findAccessByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess(" +
+            "t.id, p.id, p.owner.id, a.id, t.status, t.priority, t.version) " +
+            "from Task t join t.project p left join t.assignedUser a where t.id = :id")
+    Optional<TaskAccess> findAccessById(@Param("id") Long id);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSearchDocument(" +
+            "t.id, t.title, t.description, p.id, p.owner.id, a.id) " +
+            "from Task t join t.project p left join t.assignedUser a where t.id > :afterId order by t.id")
+    List<TaskSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSearchDocument(" +
+            "t.id, t.title, t.description, p.id, p.owner.id, a.id) " +
+            "from Task t join t.project p left join t.assignedUser a where t.id = :id")
+    Optional<TaskSearchDocument> findSearchDocumentById(@Param("id") Long id);
+
+    // Open tasks with a due date in (dueDate, id) order, read as a range of idx_tasks_due_date.
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline(" +
+            "t.id, t.dueDate, t.status, p.id, p.owner.id, a.id) " +
+            "from Task t join t.project p left join t.assignedUser a " +
+            "where t.dueDate is not null and t.status <> :closed order by t.dueDate, t.id")
+    List<TaskDeadline> findOpenDeadlines(@Param("closed") TaskStatus closed, Limit limit);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline(" +
+            "t.id, t.dueDate, t.status, p.id, p.owner.id, a.id) " +
+            "from Task t join t.project p left join t.assignedUser a " +
+            "where t.dueDate >= :afterDueDate and t.status <> :closed " +
+            "and (t.dueDate > :afterDueDate or t.id > :afterId) order by t.dueDate, t.id")
+    List<TaskDeadline> findOpenDeadlinesAfter(@Param("closed") TaskStatus closed,
+                                              @Param("afterDueDate") LocalDate afterDueDate,
+                                              @Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline(" +
+            "t.id, t.dueDate, t.status, p.id, p.owner.id, a.id) " +
+            "from Task t join t.project p left join t.assignedUser a where t.id in :ids")
+    List<TaskDeadline> findDeadlinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Locks the chunk so a task reopened while it is being archived waits for the move to commit.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Task t where t.status = :status and t.updateDate < :cutoff order by t.id")
+    List<Long> findIdsForArchiving(@Param("status") TaskStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                   Limit limit);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Tasks written after (afterSeq, afterId) up to upTo, in change order, as a range of idx_tasks_change_seq.
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange(t.id, t.changeSeq, false) " +
+            "from Task t where t.changeSeq <= :upTo " +
+            "and (t.changeSeq > :afterSeq or (t.changeSeq = :afterSeq and t.id > :afterId)) " +
+            "order by t.changeSeq, t.id")
+    List<TaskChange> findChangesAfter(@Param("afterSeq") Long afterSeq, @Param("afterId") Long afterId,
+                                      @Param("upTo") Long upTo, Limit limit);
+
+    // Same as findChangesAfter, limited to tasks in the user's projects or assigned to them.
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange(t.id, t.changeSeq, false) " +
+            "from Task t join t.project p where (p.owner.id = :userId or t.assignedUser.id = :userId) " +
+            "and t.changeSeq <= :upTo " +
+            "and (t.changeSeq > :afterSeq or (t.changeSeq = :afterSeq and t.id > :afterId)) " +
+            "order by t.changeSeq, t.id")
+    List<TaskChange> findChangesForUserAfter(@Param("userId") Long userId, @Param("afterSeq") Long afterSeq,
+                                             @Param("afterId") Long afterId, @Param("upTo") Long upTo,
+                                             Limit limit);
+
+    @Query("select coalesce(max(t.changeSeq), 0) from Task t")
+    long findMaxChangeSeq();
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount(" +
+            "t.project.id, t.status, t.priority, count(t)) " +
+            "from Task t group by t.project.id, t.status, t.priority")
+    List<TaskCount> countGroupedByProjectStatusAndPriority();
+
+    long countByProjectId(Long projectId);
+
+    long countByAssignedUserId(Long userId);
 }
@@ -0,0 +1,54 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface TaskRepositoryCustom {
+
+    // Columns the archive-inclusive listings can sort by.
+    Set<String> ARCHIVE_SORT_PROPERTIES = Set.of("id", "title", "status", "dueDate", "priority", "createDate",
+            "updateDate");
+
+    Page<TaskSummary> findSummariesByProjectId(Long projectId, TaskFilter filter, Pageable pageable);
+
+    Page<TaskSummary> findSummariesByAssignedUserId(Long userId, TaskFilter filter, Pageable pageable);
+
+    Slice<TaskSummary> findSummarySliceByProjectId(Long projectId, TaskFilter filter, Pageable pageable);
+
+    Slice<TaskSummary> findSummarySliceByAssignedUserId(Long userId, TaskFilter filter, Pageable pageable);
+
+    Page<TaskSummary> findSummariesIncludingArchivedByProjectId(Long projectId, TaskFilter filter, Pageable pageable);
+
+    Page<TaskSummary> findSummariesIncludingArchivedByAssignedUserId(Long userId, TaskFilter filter,
+                                                                     Pageable pageable);
+
+    Slice<TaskSummary> findSummarySliceIncludingArchivedByProjectId(Long projectId, TaskFilter filter,
+                                                                    Pageable pageable);
+
+    Slice<TaskSummary> findSummarySliceIncludingArchivedByAssignedUserId(Long userId, TaskFilter filter,
+                                                                         Pageable pageable);
+
+    Slice<TaskSummary> scrollSummariesByProjectId(Long projectId, TaskFilter filter, TaskCursor cursor, int size);
+
+    Slice<TaskSummary> scrollSummariesByAssignedUserId(Long userId, TaskFilter filter, TaskCursor cursor, int size);
+
+    List<TaskSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    List<Long> findIdsByProjectId(Long projectId, TaskFilter filter, int limit);
+
+    int updateStatusAndPriority(Collection<Long> ids, TaskStatus status, Priority priority, Long changeSeq);
+
+    int updateAssignedUser(Collection<Long> ids, Long userId, Long changeSeq);
+
+    int updateAttributes(Long id, Long version, Map<String, Object> changes);
+}
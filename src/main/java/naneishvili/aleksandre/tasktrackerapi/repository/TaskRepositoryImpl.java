@@ -0,0 +1,439 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.entity.Task;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskSummary> findSummariesByProjectId(Long projectId, TaskFilter filter, Pageable pageable) {
+        return findSummaries("project", projectId, filter, pageable);
+    }
+
+    @Override
+    public Page<TaskSummary> findSummariesByAssignedUserId(Long userId, TaskFilter filter, Pageable pageable) {
+        return findSummaries("assignedUser", userId, filter, pageable);
+    }
+
+    @Override
+    public Slice<TaskSummary> findSummarySliceByProjectId(Long projectId, TaskFilter filter, Pageable pageable) {
+        return findSummarySlice("project", projectId, filter, pageable);
+    }
+
+    @Override
+    public Slice<TaskSummary> findSummarySliceByAssignedUserId(Long userId, TaskFilter filter, Pageable pageable) {
+        return findSummarySlice("assignedUser", userId, filter, pageable);
+    }
+
+    @Override
+    public Page<TaskSummary> findSummariesIncludingArchivedByProjectId(Long projectId, TaskFilter filter,
+                                                                      Pageable pageable) {
+        return findSummariesIncludingArchived("project", projectId, filter, pageable);
+    }
+
+    @Override
+    public Page<TaskSummary> findSummariesIncludingArchivedByAssignedUserId(Long userId, TaskFilter filter,
+                                                                           Pageable pageable) {
+        return findSummariesIncludingArchived("assignedUser", userId, filter, pageable);
+    }
+
+    @Override
+    public Slice<TaskSummary> findSummarySliceIncludingArchivedByProjectId(Long projectId, TaskFilter filter,
+                                                                          Pageable pageable) {
+        return findSummarySliceIncludingArchived("project", projectId, filter, pageable);
+    }
+
+    @Override
+    public Slice<TaskSummary> findSummarySliceIncludingArchivedByAssignedUserId(Long userId, TaskFilter filter,
+                                                                               Pageable pageable) {
+        return findSummarySliceIncludingArchived("assignedUser", userId, filter, pageable);
+    }
+
+    @Override
+    public Slice<TaskSummary> scrollSummariesByProjectId(Long projectId, TaskFilter filter, TaskCursor cursor,
+                                                         int size) {
+        return scrollSummaries("project", projectId, filter, cursor, size);
+    }
+
+    @Override
+    public Slice<TaskSummary> scrollSummariesByAssignedUserId(Long userId, TaskFilter filter, TaskCursor cursor,
+                                                              int size) {
+        return scrollSummaries("assignedUser", userId, filter, cursor, size);
+    }
+
+    @Override
+    public List<TaskSummary> findSummariesByIdIn(Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = selectSummary(cb, query);
+        query.where(task.get("id").in(ids));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Long> findIdsByProjectId(Long projectId, TaskFilter filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(task.get("id"));
+        query.where(predicates(cb, task, "project", projectId, filter));
+        query.orderBy(cb.asc(task.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Bulk updates bypass the persistence context, @UpdateTimestamp and @Version, so they stamp updateDate
+    // and bump the version themselves; callers must not hold managed copies of the affected tasks. Every
+    // row gets the caller's change number.
+    @Override
+    public int updateStatusAndPriority(Collection<Long> ids, TaskStatus status, Priority priority, Long changeSeq) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        if (status != null) {
+            update.set(task.get("status"), status);
+        }
+        if (priority != null) {
+            update.set(task.get("priority"), priority);
+        }
+        update.set(task.get("updateDate"), LocalDateTime.now());
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        update.set(task.get("changeSeq"), changeSeq);
+        update.where(task.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int updateAssignedUser(Collection<Long> ids, Long userId, Long changeSeq) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        update.set(task.get("assignedUser"), entityManager.getReference(User.class, userId));
+        update.set(task.get("updateDate"), LocalDateTime.now());
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        update.set(task.get("changeSeq"), changeSeq);
+        update.where(task.get("id").in(ids));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // Writes only the given attributes of one task, guarded by the version the caller checked.
+    @Override
+    public int updateAttributes(Long id, Long version, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        changes.forEach((attribute, value) -> update.set(task.get(attribute), value));
+        update.set(task.get("updateDate"), LocalDateTime.now());
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        update.where(cb.equal(task.get("id"), id), cb.equal(task.get("version"), version));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private Page<TaskSummary> findSummaries(String scope, Long scopeId, TaskFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = selectSummary(cb, query);
+        query.where(predicates(cb, task, scope, scopeId, filter));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+        }
+
+        List<TaskSummary> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(scope, scopeId, filter));
+    }
+
+    private Slice<TaskSummary> findSummarySlice(String scope, Long scopeId, TaskFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = selectSummary(cb, query);
+        query.where(predicates(cb, task, scope, scopeId, filter));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+        }
+
+        List<TaskSummary> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        return toSlice(content, pageable);
+    }
+
+    // Seeks past the cursor on (sort value, id) instead of skipping rows, so no page needs an
+    // offset or a count query.
+    private Slice<TaskSummary> scrollSummaries(String scope, Long scopeId, TaskFilter filter, TaskCursor cursor,
+                                               int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = selectSummary(cb, query);
+        List<Predicate> predicates = new ArrayList<>(List.of(predicates(cb, task, scope, scopeId, filter)));
+        if (!cursor.isFirst()) {
+            predicates.add(seekPredicate(cb, task, cursor));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        Sort sort = Sort.by(cursor.getDirection(), cursor.getProperty());
+        if (!"id".equals(cursor.getProperty())) {
+            sort = sort.and(Sort.by(cursor.getDirection(), "id"));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+
+        List<TaskSummary> content = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        return toSlice(content, PageRequest.of(0, size, sort));
+    }
+
+    private Page<TaskSummary> findSummariesIncludingArchived(String scope, Long scopeId, TaskFilter filter,
+                                                             Pageable pageable) {
+        List<TaskSummary> content = archiveUnionQuery(scope, scopeId, filter, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> countIncludingArchived(scope, scopeId, filter));
+    }
+
+    private Slice<TaskSummary> findSummarySliceIncludingArchived(String scope, Long scopeId, TaskFilter filter,
+                                                                 Pageable pageable) {
+        List<TaskSummary> content = archiveUnionQuery(scope, scopeId, filter, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        return toSlice(content, pageable);
+    }
+
+    // Criteria cannot order a UNION, so the archive listings are HQL: both tables are unioned in a
+    // derived table of task columns, which is then joined to project, owner and assignee and sorted
+    // by its column aliases.
+    private TypedQuery<TaskSummary> archiveUnionQuery(String scope, Long scopeId, TaskFilter filter, Sort sort) {
+        String hql = "select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary(" +
+                "u.id, u.title, u.description, u.status, u.dueDate, u.priority, u.createDate, u.updateDate, " +
+                "u.version, p.id, p.name, p.description, p.createDate, p.updateDate, p.version, " +
+                "o.id, o.email, o.role, o.createDate, o.updateDate, " +
+                "a.id, a.email, a.role, a.createDate, a.updateDate) " +
+                "from (" + unionBranch("Task", scope, filter, true) +
+                " union all " + unionBranch("ArchivedTask", scope, filter, false) + ") u " +
+                "join Project p on p.id = u.projectId join p.owner o " +
+                "left join User a on a.id = u.assignedUserId" +
+                unionOrderBy(sort);
+
+        TypedQuery<TaskSummary> query = entityManager.createQuery(hql, TaskSummary.class);
+        bindUnionParameters(query, scopeId, filter);
+        return query;
+    }
+
+    private long countIncludingArchived(String scope, Long scopeId, TaskFilter filter) {
+        String hql = "select count(*) from (" + unionBranch("Task", scope, filter, true) +
+                " union all " + unionBranch("ArchivedTask", scope, filter, false) + ") u";
+
+        TypedQuery<Long> query = entityManager.createQuery(hql, Long.class);
+        bindUnionParameters(query, scopeId, filter);
+        return query.getSingleResult();
+    }
+
+    // HQL counterpart of predicates(); only the first branch of a union names its columns.
+    private String unionBranch(String entity, String scope, TaskFilter filter, boolean aliased) {
+        String[] columns = {"id", "title", "description", "status", "dueDate", "priority", "createDate",
+                "updateDate", "version", "project.id", "assignedUser.id"};
+        String[] aliases = {"id", "title", "description", "status", "dueDate", "priority", "createDate",
+                "updateDate", "version", "projectId", "assignedUserId"};
+
+        StringBuilder hql = new StringBuilder("select ");
+        for (int i = 0; i < columns.length; i++) {
+            hql.append(i == 0 ? "" : ", ").append("t.").append(columns[i]);
+            if (aliased) {
+                hql.append(" as ").append(aliases[i]);
+            }
+        }
+        hql.append(" from ").append(entity).append(" t where t.").append(scope).append(".id = :scopeId");
+
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            hql.append(" and t.status in :status");
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            hql.append(" and t.priority in :priority");
+        }
+        if (filter.isUnassigned()) {
+            hql.append(" and t.assignedUser is null");
+        } else if (filter.getAssignedUserId() != null) {
+            hql.append(" and t.assignedUser.id = :assignedUserId");
+        }
+        if (filter.getDueFrom() != null) {
+            hql.append(" and t.dueDate >= :dueFrom");
+        }
+        if (filter.getDueTo() != null) {
+            hql.append(" and t.dueDate <= :dueTo");
+        }
+        return hql.toString();
+    }
+
+    private void bindUnionParameters(TypedQuery<?> query, Long scopeId, TaskFilter filter) {
+        query.setParameter("scopeId", scopeId);
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            query.setParameter("status", filter.getStatus());
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            query.setParameter("priority", filter.getPriority());
+        }
+        if (!filter.isUnassigned() && filter.getAssignedUserId() != null) {
+            query.setParameter("assignedUserId", filter.getAssignedUserId());
+        }
+        if (filter.getDueFrom() != null) {
+            query.setParameter("dueFrom", filter.getDueFrom());
+        }
+        if (filter.getDueTo() != null) {
+            query.setParameter("dueTo", filter.getDueTo());
+        }
+    }
+
+    // Ties are broken by id so offsets page through the union deterministically.
+    private String unionOrderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!ARCHIVE_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort archived tasks by " + order.getProperty());
+            }
+            orders.add("u." + order.getProperty() + (order.isAscending() ? " asc" : " desc"));
+        }
+        if (sort.getOrderFor("id") == null) {
+            orders.add("u.id asc");
+        }
+        return " order by " + String.join(", ", orders);
+    }
+
+    // Queries read one row past the page; its presence is the has-next flag.
+    private Slice<TaskSummary> toSlice(List<TaskSummary> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    private Root<Task> selectSummary(CriteriaBuilder cb, CriteriaQuery<TaskSummary> query) {
+        Root<Task> task = query.from(Task.class);
+        Join<Task, Project> project = task.join("project");
+        Join<Project, User> owner = project.join("owner");
+        Join<Task, User> assignedUser = task.join("assignedUser", JoinType.LEFT);
+
+        query.select(cb.construct(TaskSummary.class,
+                task.get("id"), task.get("title"), task.get("description"), task.get("status"),
+                task.get("dueDate"), task.get("priority"), task.get("createDate"), task.get("updateDate"),
+                task.get("version"), project.get("id"), project.get("name"), project.get("description"),
+                project.get("createDate"), project.get("updateDate"), project.get("version"),
+                owner.get("id"), owner.get("email"), owner.get("role"),
+                owner.get("createDate"), owner.get("updateDate"),
+                assignedUser.get("id"), assignedUser.get("email"), assignedUser.get("role"),
+                assignedUser.get("createDate"), assignedUser.get("updateDate")));
+        return task;
+    }
+
+    private long count(String scope, Long scopeId, TaskFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.count(task));
+        query.where(predicates(cb, task, scope, scopeId, filter));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Task> task, TaskCursor cursor) {
+        boolean ascending = cursor.getDirection().isAscending();
+        Expression<Long> id = task.get("id");
+        Predicate idPastCursor = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+        if ("id".equals(cursor.getProperty())) {
+            return idPastCursor;
+        }
+
+        Expression<Comparable> key = task.get(cursor.getProperty());
+        Comparable value = cursor.getValue();
+        Predicate keyPastCursor = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+        return cb.or(keyPastCursor, cb.and(cb.equal(key, value), idPastCursor));
+    }
+
+    // Every filter is a plain comparison on a column, never wrapped in a function, so the composite
+    // indexes on Task that lead with the scope column can serve the equality and range conditions.
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Task> task, String scope, Long scopeId,
+                                   TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get(scope).get("id"), scopeId));
+
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            predicates.add(task.get("status").in(filter.getStatus()));
+        }
+        if (filter.getPriority() != null && !filter.getPriority().isEmpty()) {
+            predicates.add(task.get("priority").in(filter.getPriority()));
+        }
+        if (filter.isUnassigned()) {
+            predicates.add(cb.isNull(task.get("assignedUser")));
+        } else if (filter.getAssignedUserId() != null) {
+            predicates.add(cb.equal(task.get("assignedUser").get("id"), filter.getAssignedUserId()));
+        }
+        if (filter.getDueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.<LocalDate>get("dueDate"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(task.<LocalDate>get("dueDate"), filter.getDueTo()));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -0,0 +1,51 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange;
+import naneishvili.aleksandre.tasktrackerapi.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Written before the tasks are deleted, in the same statement count whatever the chunk size.
+    @Modifying
+    @Query("insert into TaskTombstone (taskId, projectOwnerId, userId, changeSeq, createDate) " +
+            "select t.id, p.owner.id, t.assignedUser.id, :changeSeq, :createDate " +
+            "from Task t join t.project p where t.id in :ids")
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("changeSeq") Long changeSeq,
+                      @Param("createDate") LocalDateTime createDate);
+
+    // Reassignment tombstones are skipped: an admin still sees the task.
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange(" +
+            "tb.taskId, tb.changeSeq, true) from TaskTombstone tb " +
+            "where tb.projectOwnerId is not null and tb.changeSeq <= :upTo " +
+            "and (tb.changeSeq > :afterSeq or (tb.changeSeq = :afterSeq and tb.taskId > :afterId)) " +
+            "order by tb.changeSeq, tb.taskId")
+    List<TaskChange> findChangesAfter(@Param("afterSeq") Long afterSeq, @Param("afterId") Long afterId,
+                                      @Param("upTo") Long upTo, Limit limit);
+
+    @Query("select new naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange(" +
+            "tb.taskId, tb.changeSeq, true) from TaskTombstone tb " +
+            "where (tb.projectOwnerId = :userId or tb.userId = :userId) and tb.changeSeq <= :upTo " +
+            "and (tb.changeSeq > :afterSeq or (tb.changeSeq = :afterSeq and tb.taskId > :afterId)) " +
+            "order by tb.changeSeq, tb.taskId")
+    List<TaskChange> findChangesForUserAfter(@Param("userId") Long userId, @Param("afterSeq") Long afterSeq,
+                                             @Param("afterId") Long afterId, @Param("upTo") Long upTo,
+                                             Limit limit);
+
+    @Query("select coalesce(max(tb.changeSeq), 0) from TaskTombstone tb")
+    long findMaxChangeSeq();
+
+    // The newest tombstone is kept so the change sequence resumes above it after a restart.
+    @Modifying
+    @Query("delete from TaskTombstone tb where tb.createDate < :cutoff " +
+            "and tb.changeSeq < (select max(newest.changeSeq) from TaskTombstone newest)")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
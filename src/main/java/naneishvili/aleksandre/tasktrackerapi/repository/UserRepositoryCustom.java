@@ -0,0 +1,10 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,25 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Natural-id load instead of a derived query, so a cached email resolves without touching the database.
+    // Transactional because the unwrapped Session must outlive the call when no transaction is active.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
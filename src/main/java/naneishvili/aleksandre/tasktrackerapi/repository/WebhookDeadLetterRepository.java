@@ -0,0 +1,31 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDeadLetter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface WebhookDeadLetterRepository extends JpaRepository<WebhookDeadLetter, Long> {
+
+    Slice<WebhookDeadLetter> findByProjectIdOrderByIdDesc(Long projectId, Pageable pageable);
+
+    // Moves deliveries that used up their attempts; WebhookDeliveryRepository.deleteExhausted removes them.
+    @Modifying
+    @Query("insert into WebhookDeadLetter (subscriptionId, projectId, url, eventId, payload, attempts, " +
+            "lastError, createDate) " +
+            "select d.subscriptionId, s.projectId, s.url, d.eventId, d.payload, d.attempts, :lastError, :createDate " +
+            "from WebhookDelivery d, WebhookSubscription s " +
+            "where s.id = d.subscriptionId and d.id in :ids and d.attempts >= :maxAttempts")
+    int copyExhausted(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts,
+                      @Param("lastError") String lastError, @Param("createDate") LocalDateTime createDate);
+
+    @Modifying
+    @Query("delete from WebhookDeadLetter l where l.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
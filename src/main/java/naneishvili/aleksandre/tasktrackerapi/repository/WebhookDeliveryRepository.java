@@ -0,0 +1,39 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDelivery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    // The head of a subscription's queue, in the order the changes were numbered.
+    @Query("select d from WebhookDelivery d where d.subscriptionId = :subscriptionId order by d.changeSeq, d.id")
+    List<WebhookDelivery> findBatch(@Param("subscriptionId") Long subscriptionId, Limit limit);
+
+    @Modifying
+    @Query("update WebhookDelivery d set d.attempts = d.attempts + 1 where d.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from WebhookDelivery d where d.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from WebhookDelivery d where d.id in :ids and d.attempts >= :maxAttempts")
+    int deleteExhausted(@Param("ids") Collection<Long> ids, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("delete from WebhookDelivery d where d.subscriptionId = :subscriptionId")
+    int deleteBySubscriptionId(@Param("subscriptionId") Long subscriptionId);
+
+    @Modifying
+    @Query("delete from WebhookDelivery d where d.subscriptionId in " +
+            "(select s.id from WebhookSubscription s where s.projectId = :projectId)")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,45 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface WebhookSubscriptionRepository extends JpaRepository<WebhookSubscription, Long> {
+
+    List<WebhookSubscription> findByProjectIdOrderById(Long projectId);
+
+    List<WebhookSubscription> findByProjectIdIn(Collection<Long> projectIds);
+
+    Optional<WebhookSubscription> findByIdAndProjectId(Long id, Long projectId);
+
+    // Subscriptions with something queued and no backoff in the way, longest waiting first.
+    @Query("select s from WebhookSubscription s " +
+            "where (s.nextAttemptAt is null or s.nextAttemptAt <= :now) " +
+            "and exists (select d.id from WebhookDelivery d where d.subscriptionId = s.id) " +
+            "order by s.nextAttemptAt nulls first, s.id")
+    List<WebhookSubscription> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    // Only writes when there was a failure to clear, so a healthy endpoint costs no update per batch.
+    @Modifying
+    @Query("update WebhookSubscription s set s.failures = 0, s.nextAttemptAt = null " +
+            "where s.id = :id and s.failures > 0")
+    int clearFailures(@Param("id") Long id);
+
+    @Modifying
+    @Query("update WebhookSubscription s set s.failures = :failures, s.nextAttemptAt = :nextAttemptAt " +
+            "where s.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("failures") int failures,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("delete from WebhookSubscription s where s.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
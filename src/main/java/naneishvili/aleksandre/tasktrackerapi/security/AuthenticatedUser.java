@@ -0,0 +1,22 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import lombok.Getter;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final Role role;
+    private final int tokenVersion;
+
+    public AuthenticatedUser(Long id, String email, String password, Role role, int tokenVersion) {
+        super(email, password, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.id = id;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+}
@@ -0,0 +1,11 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+
+@Value
+public class CurrentUser {
+    Long id;
+    String email;
+    Role role;
+}
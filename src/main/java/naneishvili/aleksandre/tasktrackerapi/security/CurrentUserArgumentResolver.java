@@ -0,0 +1,59 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUser.class.getName();
+
+    @Autowired
+    private UserService userService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        CurrentUser currentUser = (CurrentUser) webRequest.getAttribute(CURRENT_USER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+
+        if (currentUser == null) {
+            currentUser = resolve(SecurityContextHolder.getContext().getAuthentication());
+            webRequest.setAttribute(CURRENT_USER_ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return currentUser;
+    }
+
+    private CurrentUser resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user for this request");
+        }
+
+        if (authentication.getPrincipal() instanceof AuthenticatedUser authenticatedUser) {
+            return new CurrentUser(authenticatedUser.getId(), authenticatedUser.getUsername(),
+                    authenticatedUser.getRole());
+        }
+
+        User user = userService.findByEmail(authentication.getName());
+        return new CurrentUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
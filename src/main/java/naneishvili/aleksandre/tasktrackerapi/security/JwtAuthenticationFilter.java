@@ -1,10 +1,13 @@
 package naneishvili.aleksandre.tasktrackerapi.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +27,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -31,22 +43,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                logger.error("JWT token extraction failed", e);
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            UserDetails userDetails = resolveUserDetails(jwt);
 
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -56,4 +58,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails resolveUserDetails(String jwt) {
+        UserDetails cached = verifiedTokenCache.get(jwt);
+        if (cached != null) {
+            // A request that loaded the user just before a role or password change committed can cache
+            // its principal after the commit evicted the user, so the registry still has the last word.
+            return isRevoked(cached) ? null : cached;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("JWT token extraction failed", e);
+            return null;
+        }
+
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        UserDetails userDetails = stateless ? jwtUtil.extractAuthenticatedUser(claims) : null;
+        if (userDetails == null) {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (isRevoked(userDetails, jwtUtil.extractTokenVersion(claims))) {
+            return null;
+        }
+
+        verifiedTokenCache.put(jwt, userDetails, claims.getExpiration());
+        return userDetails;
+    }
+
+    // Cached principals carry the version of the token they were verified for.
+    private boolean isRevoked(UserDetails userDetails) {
+        return userDetails instanceof AuthenticatedUser authenticatedUser
+                && tokenRevocationRegistry.isRevoked(authenticatedUser.getId(), authenticatedUser.getTokenVersion());
+    }
+
+    private boolean isRevoked(UserDetails userDetails, Integer tokenVersion) {
+        if (tokenVersion == null || !(userDetails instanceof AuthenticatedUser authenticatedUser)) {
+            return false;
+        }
+
+        return tokenVersion < authenticatedUser.getTokenVersion()
+                || tokenRevocationRegistry.isRevoked(authenticatedUser.getId(), tokenVersion);
+    }
+}
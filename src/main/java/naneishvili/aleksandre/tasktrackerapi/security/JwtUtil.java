@@ -3,6 +3,8 @@ package naneishvili.aleksandre.tasktrackerapi.security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +15,10 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -32,6 +38,18 @@ public class JwtUtil {
                 .compact();
     }
 
+    public String generateToken(User user) {
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(TOKEN_VERSION_CLAIM, user.getTokenVersion())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(getSigningKey())
+                .compact();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -41,11 +59,11 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    public Claims parseClaims(String token) {
         return Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
@@ -53,6 +71,22 @@ public class JwtUtil {
                 .getPayload();
     }
 
+    public Integer extractTokenVersion(Claims claims) {
+        return claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+    }
+
+    public AuthenticatedUser extractAuthenticatedUser(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Integer tokenVersion = extractTokenVersion(claims);
+
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+
+        return new AuthenticatedUser(userId, claims.getSubject(), "", Role.valueOf(role), tokenVersion);
+    }
+
     public Boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -61,4 +95,4 @@ public class JwtUtil {
         final String extractedUsername = extractUsername(token);
         return (extractedUsername.equals(username) && !isTokenExpired(token));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import jakarta.annotation.PostConstruct;
+import naneishvili.aleksandre.tasktrackerapi.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenRevocationRegistry {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, Integer> minimumTokenVersions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void load() {
+        for (Object[] row : userRepository.findRevokedTokenVersions()) {
+            revokeBelow((Long) row[0], (Integer) row[1]);
+        }
+    }
+
+    public void revokeBelow(Long userId, int minimumVersion) {
+        minimumTokenVersions.merge(userId, minimumVersion, Math::max);
+    }
+
+    public void revokeAll(Long userId) {
+        revokeBelow(userId, Integer.MAX_VALUE);
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        return tokenVersion < minimumTokenVersions.getOrDefault(userId, 0);
+    }
+}
@@ -0,0 +1,75 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.service.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+// A role or password change bumps the user's token version, which logs them out everywhere once the
+// update commits. Other updates leave issued tokens and their cached principals alone. Revocations and
+// cache evictions wait for the commit, so a rolled back update changes nothing.
+@Component
+public class UserChangeListener {
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Lazy
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @PostLoad
+    @PostPersist
+    public void onUserLoaded(User user) {
+        remember(user);
+    }
+
+    @PreUpdate
+    public void onUserUpdating(User user) {
+        if (credentialsChanged(user)) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+    }
+
+    @PostUpdate
+    public void onUserUpdated(User user) {
+        Long userId = user.getId();
+        String email = user.getEmail();
+        if (credentialsChanged(user)) {
+            int tokenVersion = user.getTokenVersion();
+            TransactionHooks.afterCommit(() -> {
+                tokenRevocationRegistry.revokeBelow(userId, tokenVersion);
+                verifiedTokenCache.evictUser(email);
+            });
+        }
+        remember(user);
+    }
+
+    @PostRemove
+    public void onUserRemoved(User user) {
+        Long userId = user.getId();
+        String email = user.getEmail();
+        TransactionHooks.afterCommit(() -> {
+            tokenRevocationRegistry.revokeAll(userId);
+            verifiedTokenCache.evictUser(email);
+        });
+    }
+
+    private static boolean credentialsChanged(User user) {
+        return user.getRole() != user.getLoadedRole() ||
+                !Objects.equals(user.getPassword(), user.getLoadedPassword());
+    }
+
+    private static void remember(User user) {
+        user.setLoadedRole(user.getRole());
+        user.setLoadedPassword(user.getPassword());
+    }
+}
@@ -0,0 +1,53 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Stand-in for a message broker: appends each event as a JSON line and forces it to disk before the
+// relay deletes it from the outbox.
+@Component
+@ConditionalOnProperty("outbox.sink.file.path")
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Value("${outbox.sink.file.path}")
+    private Path path;
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(outbox.toJson(event))).append('\n');
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.ProjectResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskEventResponse;
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import naneishvili.aleksandre.tasktrackerapi.enums.AggregateType;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+import naneishvili.aleksandre.tasktrackerapi.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Queues task and project changes for downstream consumers in the caller's transaction, so an event
+// exists exactly when its change committed. The insert joins the transaction's JDBC batches; delivery
+// is left to OutboxRelay and never happens on the request thread. The change number orders delivery.
+@Component
+public class Outbox {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void taskChanged(TaskEventResponse event, long changeSeq) {
+        add(AggregateType.TASK, event.getTaskId(), event.getProjectId(), event.getType(), event, changeSeq);
+    }
+
+    // A deleted project's tasks go with it without events of their own.
+    public void projectChanged(TaskEventType type, Long projectId, ProjectResponse project, long changeSeq) {
+        Object payload = project == null ? Map.of("id", projectId) : project;
+        add(AggregateType.PROJECT, projectId, projectId, type, payload, changeSeq);
+    }
+
+    // The form sinks hand events on in: the envelope fields with the payload embedded as JSON.
+    public ObjectNode toJson(OutboxEvent event) throws JsonProcessingException {
+        ObjectNode json = objectMapper.createObjectNode();
+        json.put("id", event.getId());
+        json.put("changeSeq", event.getChangeSeq());
+        json.put("aggregateType", event.getAggregateType().name());
+        json.put("aggregateId", event.getAggregateId());
+        json.put("projectId", event.getProjectId());
+        json.put("type", event.getEventType().name());
+        json.put("createDate", event.getCreateDate() == null ? null : event.getCreateDate().toString());
+        json.set("payload", objectMapper.readTree(event.getPayload()));
+        return json;
+    }
+
+    private void add(AggregateType aggregateType, Long aggregateId, Long projectId, TaskEventType type,
+                     Object payload, long changeSeq) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload", e);
+        }
+        outboxEventRepository.save(new OutboxEvent(null, aggregateType, aggregateId, projectId, type, json,
+                changeSeq, null));
+    }
+}
@@ -0,0 +1,104 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import naneishvili.aleksandre.tasktrackerapi.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Drains the outbox into the sinks on its own thread, so neither writers nor the shared scheduler wait
+// on a consumer. Runs once per linger: full batches go out back to back and the rest as one partial
+// batch, so an event waits about one linger at most while batches fill. Only events at or below the
+// stable change number are read: one with a lower number may still commit, and sending past it would
+// break per-project order. Events are deleted only after every sink took the batch, so delivery is at
+// least once. Reads go to the primary, which has every commit.
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private List<OutboxSink> sinks = List.of();
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.linger:PT1S}")
+    private Duration linger;
+
+    private ScheduledExecutorService executor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (sinks.isEmpty()) {
+            log.warn("No outbox sinks configured; events stay in the outbox");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-relay-"));
+        executor.scheduleWithFixedDelay(this::relayQuietly, linger.toMillis(), linger.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int relay() throws IOException {
+        int relayed = 0;
+        while (true) {
+            long upTo = taskChangeLog.stable();
+            List<OutboxEvent> batch = transactionTemplate.execute(status ->
+                    outboxEventRepository.findRelayBatch(upTo, Limit.of(batchSize)));
+            if (batch.isEmpty()) {
+                return relayed;
+            }
+
+            for (OutboxSink sink : sinks) {
+                sink.publish(batch);
+            }
+            List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+            transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByIdIn(ids));
+            relayed += batch.size();
+
+            if (batch.size() < batchSize) {
+                return relayed;
+            }
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            int relayed = relay();
+            if (relayed > 0) {
+                log.debug("Relayed {} outbox events", relayed);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Outbox relay failed, retrying in {}: {}", linger, e.getMessage());
+        }
+    }
+}
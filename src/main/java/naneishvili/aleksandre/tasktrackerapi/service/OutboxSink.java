@@ -0,0 +1,13 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+// Destination for relayed outbox events. Batches arrive in change order; a sink that throws gets the
+// same batch again on the next run, as does every other sink, so consumers must tolerate duplicates.
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws IOException;
+}
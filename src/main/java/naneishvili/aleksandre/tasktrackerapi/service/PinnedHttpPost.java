@@ -0,0 +1,149 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// An HTTP/1.1 POST to addresses that were resolved and checked beforehand. The JDK HttpClient looks the
+// host up again when it connects, and cannot be told which address to use, so a webhook host could
+// pass the check with a public address and then resolve to an internal one. This connects to the given
+// addresses in order; the request still carries the URL's host in the Host header and, over https, in
+// SNI, and the certificate is verified against it. One connection per POST, and only the status line
+// of the response is read. The timeout bounds the whole exchange after connecting: the socket is closed
+// when it runs out, which also ends a write the server is not reading.
+final class PinnedHttpPost {
+
+    private static final int MAX_LINE_LENGTH = 8192;
+
+    private PinnedHttpPost() {
+    }
+
+    // Returns the response status code.
+    static int post(URI uri, List<InetAddress> addresses, Map<String, String> headers, byte[] body,
+                    Duration timeout) throws IOException {
+        boolean https = uri.getScheme().equalsIgnoreCase("https");
+        int port = uri.getPort() == -1 ? (https ? 443 : 80) : uri.getPort();
+        Socket socket = connect(addresses, port, timeout);
+        CompletableFuture<Void> deadline = CompletableFuture.runAsync(() -> closeQuietly(socket),
+                CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        try (Socket connection = https ? startTls(socket, uri.getHost(), port) : socket) {
+            OutputStream out = new BufferedOutputStream(connection.getOutputStream());
+            out.write(head(uri, headers, body.length).getBytes(StandardCharsets.ISO_8859_1));
+            out.write(body);
+            out.flush();
+            return readStatus(new BufferedInputStream(connection.getInputStream()));
+        } catch (IOException e) {
+            if (deadline.isDone()) {
+                throw new SocketTimeoutException("No response within " + timeout);
+            }
+            throw e;
+        } finally {
+            deadline.cancel(false);
+            closeQuietly(socket);
+        }
+    }
+
+    private static Socket connect(List<InetAddress> addresses, int port, Duration timeout) throws IOException {
+        IOException failure = new IOException("No address to connect to");
+        for (InetAddress address : addresses) {
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(address, port), (int) timeout.toMillis());
+                return socket;
+            } catch (IOException e) {
+                closeQuietly(socket);
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    private static SSLSocket startTls(Socket socket, String host, int port) throws IOException {
+        SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                .createSocket(socket, host, port, true);
+        SSLParameters parameters = tls.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        tls.setSSLParameters(parameters);
+        tls.startHandshake();
+        return tls;
+    }
+
+    private static String head(URI uri, Map<String, String> headers, int contentLength) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path += "?" + uri.getRawQuery();
+        }
+        StringBuilder head = new StringBuilder()
+                .append("POST ").append(path).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(uri.getHost()).append(uri.getPort() == -1 ? "" : ":" + uri.getPort())
+                .append("\r\n");
+        headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+        return head.append("Content-Length: ").append(contentLength).append("\r\n")
+                .append("Connection: close\r\n\r\n")
+                .toString();
+    }
+
+    // Skips interim 1xx responses.
+    private static int readStatus(InputStream in) throws IOException {
+        while (true) {
+            String statusLine = readLine(in);
+            String[] parts = statusLine.split(" ", 3);
+            if (parts.length < 2 || !parts[0].startsWith("HTTP/1.")) {
+                throw new IOException("Malformed status line: " + statusLine);
+            }
+            int status;
+            try {
+                status = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed status line: " + statusLine);
+            }
+            if (status / 100 != 1) {
+                return status;
+            }
+            while (!readLine(in).isEmpty()) {
+                // Headers of the interim response.
+            }
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                throw new IOException("Connection closed before the response");
+            }
+            if (line.size() == MAX_LINE_LENGTH) {
+                throw new IOException("Response line too long");
+            }
+            line.write(b);
+        }
+        String text = line.toString(StandardCharsets.ISO_8859_1);
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+    }
+}
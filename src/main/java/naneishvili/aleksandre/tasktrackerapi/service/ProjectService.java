@@ -1,25 +1,43 @@
 package naneishvili.aleksandre.tasktrackerapi.service;
 
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.ProjectResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskStatsResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProjectService {
 
-    ProjectResponse createProject(ProjectCreateRequest request, String ownerEmail);
+    ProjectResponse createProject(ProjectCreateRequest request, CurrentUser currentUser);
 
-    ProjectResponse updateProject(Long projectId, ProjectUpdateRequest request, String userEmail);
+    ProjectResponse updateProject(Long projectId, ProjectUpdateRequest request, Long expectedVersion,
+                                  CurrentUser currentUser);
 
-    void deleteProject(Long projectId, String userEmail);
+    Long patchProject(Long projectId, ProjectPatchRequest request, Long expectedVersion, CurrentUser currentUser);
 
-    ProjectResponse getProjectById(Long projectId, String userEmail);
+    void deleteProject(Long projectId, Long expectedVersion, CurrentUser currentUser);
 
-    List<ProjectResponse> getProjectsByOwner(String ownerEmail);
+    ProjectResponse getProjectById(Long projectId, CurrentUser currentUser);
 
-    List<ProjectResponse> getAllProjects(String userEmail);
+    List<ProjectResponse> getProjectsByOwner(CurrentUser currentUser);
+
+    List<ProjectResponse> getAllProjects(CurrentUser currentUser);
+
+    TaskStatsResponse getProjectTaskStats(Long projectId, CurrentUser currentUser);
+
+    TaskStatsResponse getTaskStatsTotals(CurrentUser currentUser);
+
+    SseEmitter subscribeToTaskEvents(Long projectId, CurrentUser currentUser);
 
     Project findEntityById(Long projectId);
-}
\ No newline at end of file
+
+    List<Project> findEntitiesByIds(Collection<Long> projectIds);
+
+    Long findOwnerId(Long projectId);
+}
@@ -0,0 +1,80 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.repository.ArchivedTaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves DONE tasks that have not changed for tasks.archive.after from tasks to tasks_archive, so the
+// hot table and its indexes only hold work that is still moving. Each chunk is copied with one
+// INSERT ... SELECT and removed with one DELETE in its own transaction, leaving tombstones so
+// GET /tasks/changes clients drop the archived tasks too.
+@Slf4j
+@Component
+public class TaskArchiver {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskCountCache taskCountCache;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${tasks.archive.after:30d}")
+    private Duration archiveAfter;
+
+    @Value("${tasks.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${tasks.archive.interval:PT1H}", initialDelayString = "${tasks.archive.interval:PT1H}")
+    public void archiveCompletedTasks() {
+        archiveCompletedBefore(LocalDateTime.now().minus(archiveAfter));
+    }
+
+    public int archiveCompletedBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        int moved;
+        while ((moved = transactionTemplate.execute(status -> archiveChunk(cutoff))) > 0) {
+            archived += moved;
+            log.info("Archived {} completed tasks last updated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> ids = taskRepository.findIdsForArchiving(TaskStatus.DONE, cutoff, Limit.of(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<TaskAccess> tasks = taskRepository.findAccessByIdIn(ids);
+        archivedTaskRepository.copyFromTasks(ids, LocalDateTime.now());
+        taskChangeLog.tasksRemoved(ids, taskChangeLog.next());
+        taskRepository.deleteByIdIn(ids);
+        tasks.forEach(task -> taskCountCache.taskDeleted(task.getProjectId(), task.getAssignedUserId()));
+        taskSearchIndex.tasksRemoved(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,111 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.entity.TaskTombstone;
+import naneishvili.aleksandre.tasktrackerapi.repository.OutboxEventRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+// Numbers task and project writes for GET /tasks/changes and the outbox, and records the tasks that
+// left someone's view. Numbers are handed out in order but transactions commit in any order, so readers
+// stop at the stable mark: the highest number below every write still in flight. A reader that has read
+// up to the stable mark cannot miss a write that commits later with a lower number. Numbers are kept in
+// this process and resume above the highest stored one on startup, so one instance must serve all writes.
+@Slf4j
+@Component
+public class TaskChangeLog {
+
+    // Allowance for a transaction that took its number before a cursor was issued but committed after.
+    private static final Duration PURGE_MARGIN = Duration.ofHours(1);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${tasks.changes.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+
+    private long last;
+
+    @PostConstruct
+    void init() {
+        last = Math.max(Math.max(taskRepository.findMaxChangeSeq(), taskTombstoneRepository.findMaxChangeSeq()),
+                outboxEventRepository.findMaxChangeSeq());
+        log.info("Task change sequence resumes after {}", last);
+    }
+
+    // Takes the next number for a write in the current transaction; one number may cover many rows.
+    public long next() {
+        long number;
+        synchronized (this) {
+            number = ++last;
+            inFlight.add(number);
+        }
+        TransactionHooks.afterCompletion(() -> release(number));
+        return number;
+    }
+
+    public synchronized long stable() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    // A cursor this old may point past tombstones that have since been purged.
+    public boolean isExpired(Instant cursorIssuedAt) {
+        return cursorIssuedAt.isBefore(Instant.now().minus(tombstoneRetention));
+    }
+
+    public void taskRemoved(Long taskId, Long projectOwnerId, Long assignedUserId, long changeSeq) {
+        taskTombstoneRepository.save(new TaskTombstone(null, taskId, projectOwnerId, assignedUserId, changeSeq, null));
+    }
+
+    // Must run before the tasks are deleted.
+    public void tasksRemoved(Collection<Long> taskIds, long changeSeq) {
+        taskTombstoneRepository.copyFromTasks(taskIds, changeSeq, LocalDateTime.now());
+    }
+
+    // The previous assignee loses sight of the task unless they own its project.
+    public void taskReassigned(Long taskId, Long projectOwnerId, Long previousUserId, Long assignedUserId,
+                               long changeSeq) {
+        if (previousUserId != null && !previousUserId.equals(assignedUserId) &&
+                !previousUserId.equals(projectOwnerId)) {
+            taskTombstoneRepository.save(new TaskTombstone(null, taskId, null, previousUserId, changeSeq, null));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.changes.purge-interval:PT1H}",
+            initialDelayString = "${tasks.changes.purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention).minus(PURGE_MARGIN);
+        Integer purged = transactionTemplate.execute(status -> taskTombstoneRepository.deleteCreatedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} task tombstones created before {}", purged, cutoff);
+        }
+    }
+
+    private synchronized void release(long number) {
+        inFlight.remove(number);
+    }
+}
@@ -0,0 +1,128 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Unfiltered task totals per project and per assignee. Loaded with one COUNT on a miss, then kept
+// current by the task write paths once their transaction commits. Entries expire a fixed time after
+// loading, however often they are adjusted, so drift from other nodes or racing writes stays bounded.
+@Component
+public class TaskCountCache {
+
+    public static final String PROJECT_CACHE_NAME = "projectTaskCounts";
+    public static final String USER_CACHE_NAME = "userTaskCounts";
+
+    @Value("${tasks.count-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${tasks.count-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, Long> projectCounts;
+
+    private Cache<Long, Long> userCounts;
+
+    @PostConstruct
+    void init() {
+        projectCounts = newCache();
+        userCounts = newCache();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, projectCounts, PROJECT_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, userCounts, USER_CACHE_NAME);
+    }
+
+    public long countByProject(Long projectId) {
+        return projectCounts.get(projectId, taskRepository::countByProjectId);
+    }
+
+    public long countByAssignedUser(Long userId) {
+        return userCounts.get(userId, taskRepository::countByAssignedUserId);
+    }
+
+    public void taskCreated(Long projectId, Long assignedUserId) {
+        TransactionHooks.afterCommit(() -> {
+            adjust(projectCounts, projectId, 1);
+            adjust(userCounts, assignedUserId, 1);
+        });
+    }
+
+    public void taskDeleted(Long projectId, Long assignedUserId) {
+        TransactionHooks.afterCommit(() -> {
+            adjust(projectCounts, projectId, -1);
+            adjust(userCounts, assignedUserId, -1);
+        });
+    }
+
+    public void taskReassigned(Long previousUserId, Long newUserId) {
+        if (previousUserId != null && previousUserId.equals(newUserId)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            adjust(userCounts, previousUserId, -1);
+            adjust(userCounts, newUserId, 1);
+        });
+    }
+
+    public void projectDeleted(Long projectId) {
+        TransactionHooks.afterCommit(() -> {
+            projectCounts.invalidate(projectId);
+            // The cascade removed tasks of unknown assignees, so every per-user total is suspect.
+            userCounts.invalidateAll();
+        });
+    }
+
+    private Cache<Long, Long> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LoadedExpiry(ttl))
+                .recordStats()
+                .build();
+    }
+
+    // Only adjusts totals that are already cached; a missing entry is loaded fresh on next read.
+    private static void adjust(Cache<Long, Long> cache, Long key, long delta) {
+        if (key != null) {
+            cache.asMap().computeIfPresent(key, (id, count) -> Math.max(count + delta, 0));
+        }
+    }
+
+    private static class LoadedExpiry implements Expiry<Long, Long> {
+
+        private final long ttlNanos;
+
+        LoadedExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Long value, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Long value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
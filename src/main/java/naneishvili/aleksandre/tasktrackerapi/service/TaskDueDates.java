@@ -0,0 +1,329 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline;
+import naneishvili.aleksandre.tasktrackerapi.entity.Task;
+import naneishvili.aleksandre.tasktrackerapi.enums.DueDateAlert;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Due dates of all open tasks, ordered by date, so overdue work is read from memory instead of a
+// predicate over the whole task table. Loaded on startup as a range read of idx_tasks_due_date and kept
+// current by the task write paths after each commit. A periodic check walks the dates the calendar has
+// moved past and publishes a TaskDueEvent for every task that came within the reminder lead or became
+// overdue. Tasks already due soon or overdue at startup are not announced again.
+@Slf4j
+@Component
+public class TaskDueDates {
+
+    @Value("${tasks.due.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    @Value("${tasks.due.reminder-lead:1d}")
+    private Duration reminderLead;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Deadline> deadlines = new HashMap<>();
+
+    private final NavigableMap<LocalDate, Set<Long>> byDueDate = new TreeMap<>();
+
+    // Tasks due before these dates have had their OVERDUE and APPROACHING events.
+    private LocalDate overdueBefore;
+
+    private LocalDate remindedBefore;
+
+    // Ids written while loading; the load skips them because they are already current.
+    private Set<Long> changedDuringLoad;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        load(LocalDate.now());
+    }
+
+    public void load(LocalDate today) {
+        long started = System.currentTimeMillis();
+        write(() -> {
+            deadlines.clear();
+            byDueDate.clear();
+            overdueBefore = today;
+            remindedBefore = reminderHorizon(today);
+            changedDuringLoad = new HashSet<>();
+            ready = false;
+        });
+
+        int loaded = 0;
+        List<TaskDeadline> batch = taskRepository.findOpenDeadlines(TaskStatus.DONE, Limit.of(loadBatchSize));
+        while (true) {
+            List<TaskDeadline> current = batch;
+            write(() -> current.stream()
+                    .filter(task -> !changedDuringLoad.contains(task.getId()))
+                    .forEach(task -> put(task, false)));
+            loaded += batch.size();
+            if (batch.size() < loadBatchSize) {
+                break;
+            }
+            TaskDeadline last = batch.get(batch.size() - 1);
+            batch = taskRepository.findOpenDeadlinesAfter(TaskStatus.DONE, last.getDueDate(), last.getId(),
+                    Limit.of(loadBatchSize));
+        }
+
+        write(() -> {
+            changedDuringLoad = null;
+            ready = true;
+        });
+        log.info("Loaded {} task due dates in {} ms", loaded, System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.due.check-interval:PT1M}",
+            initialDelayString = "${tasks.due.check-interval:PT1M}")
+    public void check() {
+        check(LocalDate.now());
+    }
+
+    public void check(LocalDate today) {
+        if (!ready) {
+            return;
+        }
+        List<TaskDueEvent> events = update(() -> {
+            List<TaskDueEvent> due = new ArrayList<>();
+            if (today.isAfter(overdueBefore)) {
+                byDueDate.subMap(overdueBefore, today).values()
+                        .forEach(ids -> ids.forEach(id -> due.add(event(DueDateAlert.OVERDUE, id))));
+                overdueBefore = today;
+            }
+            LocalDate horizon = reminderHorizon(today);
+            if (horizon.isAfter(remindedBefore)) {
+                byDueDate.subMap(remindedBefore, horizon).values()
+                        .forEach(ids -> ids.forEach(id -> due.add(event(DueDateAlert.APPROACHING, id))));
+                remindedBefore = horizon;
+            }
+            return due;
+        });
+        if (!events.isEmpty()) {
+            log.info("Published {} task due date events", events.size());
+        }
+    }
+
+    // Returns up to limit ids of overdue tasks the user may see, oldest due date first.
+    public List<Long> overdue(CurrentUser currentUser, LocalDate today, int offset, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Task due dates are still loading, please retry later", 5);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Long> page = new ArrayList<>();
+            int skipped = 0;
+            for (Set<Long> ids : byDueDate.headMap(today).values()) {
+                for (Long id : ids) {
+                    if (!canView(deadlines.get(id), currentUser)) {
+                        continue;
+                    }
+                    if (skipped < offset) {
+                        skipped++;
+                        continue;
+                    }
+                    page.add(id);
+                    if (page.size() == limit) {
+                        return page;
+                    }
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void taskSaved(Task task) {
+        Long assignedUserId = task.getAssignedUser() == null ? null : task.getAssignedUser().getId();
+        taskSaved(new TaskDeadline(task.getId(), task.getDueDate(), task.getStatus(), task.getProject().getId(),
+                task.getProject().getOwner().getId(), assignedUserId));
+    }
+
+    public void taskSaved(TaskDeadline task) {
+        tasksSaved(List.of(task));
+    }
+
+    public void tasksSaved(Collection<TaskDeadline> tasks) {
+        afterCommit(() -> {
+            List<TaskDueEvent> events = new ArrayList<>();
+            for (TaskDeadline task : tasks) {
+                markChanged(task.getId());
+                TaskDueEvent event = put(task, true);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            return events;
+        });
+    }
+
+    public void tasksReassigned(Collection<Long> taskIds, Long assignedUserId) {
+        afterCommit(() -> {
+            taskIds.forEach(id -> {
+                Deadline deadline = deadlines.get(id);
+                if (deadline != null) {
+                    markChanged(id);
+                    deadlines.put(id, deadline.withAssignedUser(assignedUserId));
+                }
+            });
+            return List.of();
+        });
+    }
+
+    public void tasksRemoved(Collection<Long> taskIds) {
+        afterCommit(() -> {
+            taskIds.forEach(id -> {
+                markChanged(id);
+                remove(id);
+            });
+            return List.of();
+        });
+    }
+
+    public void projectRemoved(Long projectId) {
+        afterCommit(() -> {
+            List<Long> ids = deadlines.entrySet().stream()
+                    .filter(entry -> entry.getValue().projectId == projectId)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            ids.forEach(id -> {
+                markChanged(id);
+                remove(id);
+            });
+            return List.of();
+        });
+    }
+
+    private void afterCommit(Supplier<List<TaskDueEvent>> change) {
+        TransactionHooks.afterCommit(() -> update(change));
+    }
+
+    // Applies the change under the write lock, then publishes its events once the lock is released.
+    private List<TaskDueEvent> update(Supplier<List<TaskDueEvent>> change) {
+        List<TaskDueEvent> events;
+        lock.writeLock().lock();
+        try {
+            events = change.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        events.forEach(eventPublisher::publishEvent);
+        return events;
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (changedDuringLoad != null) {
+            changedDuringLoad.add(id);
+        }
+    }
+
+    // A task whose new due date falls in a window the check has already passed gets its event here.
+    private TaskDueEvent put(TaskDeadline task, boolean announce) {
+        Deadline previous = remove(task.getId());
+        if (task.getDueDate() == null || task.getStatus() == TaskStatus.DONE) {
+            return null;
+        }
+
+        deadlines.put(task.getId(), new Deadline(task.getDueDate(), task.getProjectId(), task.getProjectOwnerId(),
+                task.getAssignedUserId()));
+        byDueDate.computeIfAbsent(task.getDueDate(), date -> new TreeSet<>()).add(task.getId());
+
+        if (!announce || (previous != null && previous.dueDate.equals(task.getDueDate()))) {
+            return null;
+        }
+        // Written before the first load: no window has been checked yet, and the load reads the task anyway.
+        if (overdueBefore == null) {
+            return null;
+        }
+        if (task.getDueDate().isBefore(overdueBefore)) {
+            return event(DueDateAlert.OVERDUE, task.getId());
+        }
+        if (task.getDueDate().isBefore(remindedBefore)) {
+            return event(DueDateAlert.APPROACHING, task.getId());
+        }
+        return null;
+    }
+
+    private Deadline remove(Long id) {
+        Deadline deadline = deadlines.remove(id);
+        if (deadline != null) {
+            Set<Long> ids = byDueDate.get(deadline.dueDate);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                byDueDate.remove(deadline.dueDate);
+            }
+        }
+        return deadline;
+    }
+
+    private TaskDueEvent event(DueDateAlert alert, Long id) {
+        Deadline deadline = deadlines.get(id);
+        return new TaskDueEvent(alert, id, deadline.dueDate, deadline.projectId, deadline.assignedUserId);
+    }
+
+    // First due date outside the reminder lead, e.g. the day after tomorrow for a one-day lead.
+    private LocalDate reminderHorizon(LocalDate today) {
+        return today.plusDays(reminderLead.toDays() + 1);
+    }
+
+    // Same rule as TaskServiceImpl.canUserAccessTask.
+    private static boolean canView(Deadline deadline, CurrentUser currentUser) {
+        return currentUser.getRole() == Role.ADMIN ||
+                currentUser.getId().equals(deadline.projectOwnerId) ||
+                currentUser.getId().equals(deadline.assignedUserId);
+    }
+
+    private record Deadline(LocalDate dueDate, long projectId, Long projectOwnerId, Long assignedUserId) {
+
+        Deadline withAssignedUser(Long assignedUserId) {
+            return new Deadline(dueDate, projectId, projectOwnerId, assignedUserId);
+        }
+    }
+}
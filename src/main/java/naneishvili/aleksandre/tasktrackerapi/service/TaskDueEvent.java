@@ -0,0 +1,16 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.Value;
+import naneishvili.aleksandre.tasktrackerapi.enums.DueDateAlert;
+
+import java.time.LocalDate;
+
+// Published once per task when its due date comes within the reminder lead, and once when it passes.
+@Value
+public class TaskDueEvent {
+    DueDateAlert alert;
+    Long taskId;
+    LocalDate dueDate;
+    Long projectId;
+    Long assignedUserId;
+}
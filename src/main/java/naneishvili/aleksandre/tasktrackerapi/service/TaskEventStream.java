@@ -0,0 +1,320 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskEventResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Pushes task changes to the server-sent event subscribers of each project. Write paths hand events
+// over after commit and never wait on a client: each subscriber has a small ring buffer that a shared
+// sender pool drains. A subscriber that falls a whole buffer behind loses what was buffered and gets a
+// RESYNC event instead, telling it to reload the listing. A client that stops reading blocks the write
+// to it, for at most the container's write timeout (server.tomcat.connection-timeout). Once one write
+// has taken longer than send-timeout the subscriber stops buffering and is dropped, and its stream is
+// closed when the write returns, so the client reconnects and reloads. Only the sender thread that owns
+// the write completes the emitter: the emitter's lock is held for the whole write. An idle subscriber
+// holds no buffer and no thread, only its emitter.
+@Slf4j
+@Component
+public class TaskEventStream {
+
+    public static final String RESYNC = "RESYNC";
+
+    @Value("${tasks.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${tasks.events.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${tasks.events.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${tasks.events.send-timeout:PT10S}")
+    private Duration sendTimeout;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    void init() {
+        // A subscriber is queued at most once at a time, so the queue is bounded by the subscriber count.
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("task-events-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        subscribers.values().forEach(project -> project.forEach(Subscriber::end));
+    }
+
+    public SseEmitter subscribe(Long projectId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribe(projectId, emitter);
+        return emitter;
+    }
+
+    void subscribe(Long projectId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+    }
+
+    int subscriberCount(Long projectId) {
+        Set<Subscriber> project = subscribers.get(projectId);
+        return project == null ? 0 : project.size();
+    }
+
+    public void publish(TaskEventResponse event) {
+        TransactionHooks.afterCommit(() -> {
+            Set<Subscriber> project = subscribers.get(event.getProjectId());
+            if (project != null) {
+                project.forEach(subscriber -> subscriber.offer(event));
+            }
+        });
+    }
+
+    // Ends the streams of a deleted project; clients see the stream close instead of going quiet.
+    public void projectDeleted(Long projectId) {
+        TransactionHooks.afterCommit(() -> {
+            Set<Subscriber> project = subscribers.remove(projectId);
+            if (project != null) {
+                project.forEach(Subscriber::end);
+            }
+        });
+    }
+
+    // Keeps idle connections open through proxies and finds clients that have gone away.
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat-interval:PT30S}",
+            initialDelayString = "${tasks.events.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.values().forEach(project -> project.forEach(Subscriber::heartbeat));
+    }
+
+    // Runs on the shared scheduler thread, so it never touches an emitter: the stalled sender closes the
+    // stream itself once its write returns.
+    @Scheduled(fixedDelayString = "${tasks.events.send-check-interval:PT1S}",
+            initialDelayString = "${tasks.events.send-check-interval:PT1S}")
+    public void expireStalledSends() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(project -> project.forEach(subscriber -> {
+            if (subscriber.expireSend(now, sendTimeout.toNanos())) {
+                log.debug("Dropping task event subscriber of project {}: send took over {}", subscriber.projectId,
+                        sendTimeout);
+                unsubscribe(subscriber);
+            }
+        }));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.projectId, (id, project) -> {
+            project.remove(subscriber);
+            return project.isEmpty() ? null : project;
+        });
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final Long projectId;
+
+        private final SseEmitter emitter;
+
+        // Allocated while events are pending and dropped once drained.
+        private TaskEventResponse[] ring;
+
+        private int head;
+
+        private int size;
+
+        private boolean resync;
+
+        private boolean heartbeat;
+
+        private boolean scheduled;
+
+        private boolean closed;
+
+        // Whether a sender thread is inside emitter.send, and since when.
+        private boolean sending;
+
+        private long sendStartedAt;
+
+        // Set when the stream was ended during a send; the sender completes the emitter afterwards.
+        private boolean completeAfterSend;
+
+        Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        void offer(TaskEventResponse event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (ring == null) {
+                    ring = new TaskEventResponse[bufferSize];
+                }
+                if (size == ring.length) {
+                    ring = new TaskEventResponse[bufferSize];
+                    head = 0;
+                    size = 0;
+                    resync = true;
+                }
+                ring[(head + size) % ring.length] = event;
+                size++;
+                if (!markScheduled()) {
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeat = true;
+                if (!markScheduled()) {
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        // Ends a subscriber whose send has run past the timeout. The write itself is left to the
+        // container's write timeout.
+        synchronized boolean expireSend(long now, long timeoutNanos) {
+            if (!sending || completeAfterSend || now - sendStartedAt < timeoutNanos) {
+                return false;
+            }
+            close();
+            completeAfterSend = true;
+            return true;
+        }
+
+        // Completes the emitter now, or leaves it to the sender if a send holds the emitter's lock.
+        void end() {
+            synchronized (this) {
+                close();
+                if (sending) {
+                    completeAfterSend = true;
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+
+        synchronized void close() {
+            closed = true;
+            ring = null;
+            size = 0;
+        }
+
+        // Sends at most one buffer's worth per turn so a busy project cannot hold a sender thread.
+        @Override
+        public void run() {
+            for (int sent = 0; sent < bufferSize; sent++) {
+                SseEmitter.SseEventBuilder next = next();
+                if (next == null) {
+                    return;
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // The container completes the request after a failed write.
+                    log.debug("Dropping task event subscriber of project {}: {}", projectId, e.getMessage());
+                    sendFinished();
+                    unsubscribe(this);
+                    return;
+                }
+                if (sendFinished()) {
+                    emitter.complete();
+                    return;
+                }
+            }
+            schedule();
+        }
+
+        // Takes the next event and marks the send as started, under the same lock, so end() either
+        // sees the send or the send sees the subscriber closed.
+        private synchronized SseEmitter.SseEventBuilder next() {
+            SseEmitter.SseEventBuilder next = take();
+            if (next == null) {
+                scheduled = false;
+                return null;
+            }
+            sending = true;
+            sendStartedAt = System.nanoTime();
+            return next;
+        }
+
+        private SseEmitter.SseEventBuilder take() {
+            if (closed) {
+                return null;
+            }
+            if (resync) {
+                resync = false;
+                return SseEmitter.event().name(RESYNC).data(Map.of("projectId", projectId), MediaType.APPLICATION_JSON);
+            }
+            if (size > 0) {
+                TaskEventResponse event = ring[head];
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+                return SseEmitter.event().name(event.getType().name()).data(event, MediaType.APPLICATION_JSON);
+            }
+            if (heartbeat) {
+                heartbeat = false;
+                return SseEmitter.event().comment("heartbeat");
+            }
+            ring = null;
+            head = 0;
+            return null;
+        }
+
+        // Returns whether the stream was ended during the send and is now the sender's to complete.
+        private synchronized boolean sendFinished() {
+            sending = false;
+            return completeAfterSend;
+        }
+
+        private boolean markScheduled() {
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        private void schedule() {
+            try {
+                sender.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down.
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSearchDocument;
+import naneishvili.aleksandre.tasktrackerapi.entity.Task;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over task titles and descriptions. Each term maps to a sorted array of
+// task ids; a query intersects the postings of all its terms, newest task first, and ranks tasks with
+// more of the terms in their title ahead. The task write paths keep it current after each commit,
+// and it is rebuilt from the database on startup.
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MAX_TERM_LENGTH = 64;
+
+    @Value("${tasks.search.rebuild-batch-size:10000}")
+    private int rebuildBatchSize;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    // Ids written while a rebuild is running; the rebuild skips them because they are already current.
+    private Set<Long> changedDuringRebuild;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        write(() -> {
+            postings.clear();
+            documents.clear();
+            changedDuringRebuild = new HashSet<>();
+            ready = false;
+        });
+
+        long afterId = 0;
+        int indexed = 0;
+        List<TaskSearchDocument> batch;
+        do {
+            batch = taskRepository.findSearchDocumentsAfter(afterId, Limit.of(rebuildBatchSize));
+            List<TaskSearchDocument> loaded = batch;
+            write(() -> loaded.stream()
+                    .filter(document -> !changedDuringRebuild.contains(document.getId()))
+                    .forEach(this::put));
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+                indexed += batch.size();
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        write(() -> {
+            changedDuringRebuild = null;
+            ready = true;
+        });
+        log.info("Indexed {} tasks for search in {} ms", indexed, System.currentTimeMillis() - started);
+    }
+
+    // Returns up to limit ids of tasks the user may see that contain every term of the query, best first.
+    public List<Long> search(String query, CurrentUser currentUser, int offset, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Search index is still loading, please retry later", 5);
+        }
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            // One bucket per number of terms found in the title. Candidates arrive newest first, so once
+            // the all-in-title bucket holds offset + limit ids no later task can make the page.
+            int wanted = offset + limit;
+            List<List<Long>> byTitleHits = new ArrayList<>();
+            for (int i = 0; i <= terms.size(); i++) {
+                byTitleHits.add(new ArrayList<>());
+            }
+            Postings shortest = lists.get(0);
+            for (int i = shortest.size - 1; i >= 0; i--) {
+                long id = shortest.ids[i];
+                if (!containedInAll(lists, id)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (!canView(document, currentUser)) {
+                    continue;
+                }
+                List<Long> bucket = byTitleHits.get(document.titleHits(terms));
+                if (bucket.size() < wanted) {
+                    bucket.add(id);
+                }
+                if (byTitleHits.get(terms.size()).size() == wanted) {
+                    break;
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>();
+            for (int hits = terms.size(); hits >= 0; hits--) {
+                ranked.addAll(byTitleHits.get(hits));
+            }
+            return offset >= ranked.size() ? List.of() : ranked.subList(offset, Math.min(ranked.size(), wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void taskSaved(Task task) {
+        Long assignedUserId = task.getAssignedUser() == null ? null : task.getAssignedUser().getId();
+        taskSaved(new TaskSearchDocument(task.getId(), task.getTitle(), task.getDescription(),
+                task.getProject().getId(), task.getProject().getOwner().getId(), assignedUserId));
+    }
+
+    public void taskSaved(TaskSearchDocument document) {
+        afterCommit(() -> {
+            markChanged(document.getId());
+            put(document);
+        });
+    }
+
+    // A task the rebuild has not reached yet is left to it; search results are re-checked against the
+    // database, so a briefly stale assignee can only hide a task, never expose one.
+    public void tasksReassigned(Collection<Long> taskIds, Long assignedUserId) {
+        afterCommit(() -> taskIds.forEach(id -> {
+            Document document = documents.get(id);
+            if (document != null) {
+                markChanged(id);
+                documents.put(id, document.withAssignedUser(assignedUserId));
+            }
+        }));
+    }
+
+    public void tasksRemoved(Collection<Long> taskIds) {
+        afterCommit(() -> taskIds.forEach(id -> {
+            markChanged(id);
+            remove(id);
+        }));
+    }
+
+    // Project deletion is rare, so a scan of all documents is cheaper than a per-project id list.
+    public void projectRemoved(Long projectId) {
+        afterCommit(() -> {
+            List<Long> ids = documents.entrySet().stream()
+                    .filter(entry -> entry.getValue().projectId == projectId)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            ids.forEach(id -> {
+                markChanged(id);
+                remove(id);
+            });
+        });
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            }
+        }
+        return terms;
+    }
+
+    private void afterCommit(Runnable change) {
+        TransactionHooks.afterCommit(() -> write(change));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markChanged(Long id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    private void put(TaskSearchDocument task) {
+        remove(task.getId());
+
+        Set<String> titleTerms = tokenize(task.getTitle());
+        Set<String> terms = new LinkedHashSet<>(titleTerms);
+        terms.addAll(tokenize(task.getDescription()));
+
+        String[] indexedTerms = new String[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            Postings list = postings.computeIfAbsent(term, Postings::new);
+            list.add(task.getId());
+            // Documents hold the dictionary's own string, so each term is stored once.
+            indexedTerms[i++] = list.term;
+        }
+        String[] indexedTitleTerms = Arrays.copyOf(indexedTerms, titleTerms.size());
+
+        documents.put(task.getId(), new Document(task.getProjectId(), task.getProjectOwnerId(),
+                task.getAssignedUserId(), indexedTerms, indexedTitleTerms));
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Postings list = postings.get(term);
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static boolean containedInAll(List<Postings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same rule as TaskServiceImpl.canUserAccessTask.
+    private static boolean canView(Document document, CurrentUser currentUser) {
+        return currentUser.getRole() == Role.ADMIN ||
+                currentUser.getId().equals(document.projectOwnerId) ||
+                currentUser.getId().equals(document.assignedUserId);
+    }
+
+    private record Document(long projectId, Long projectOwnerId, Long assignedUserId, String[] terms,
+                            String[] titleTerms) {
+
+        Document withAssignedUser(Long assignedUserId) {
+            return new Document(projectId, projectOwnerId, assignedUserId, terms, titleTerms);
+        }
+
+        int titleHits(Set<String> queryTerms) {
+            int hits = 0;
+            for (String term : titleTerms) {
+                if (queryTerms.contains(term)) {
+                    hits++;
+                }
+            }
+            return hits;
+        }
+    }
+
+    // Sorted task ids containing a term. Ids are assigned in increasing order, so adding a new task
+    // is an append; only re-indexing an older task shifts the array.
+    private static final class Postings {
+
+        private final String term;
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
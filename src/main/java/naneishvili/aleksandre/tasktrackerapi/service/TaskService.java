@@ -1,33 +1,76 @@
 package naneishvili.aleksandre.tasktrackerapi.service;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkAssignRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskUpdateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.CursorPageResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskBulkResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskChangeResponse;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskResponse;
-import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
 import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface TaskService {
 
-    TaskResponse createTask(TaskCreateRequest request, String userEmail);
+    TaskResponse createTask(TaskCreateRequest request, CurrentUser currentUser);
+
+    List<TaskResponse> createTasks(TaskBulkCreateRequest request, CurrentUser currentUser);
+
+    TaskResponse updateTask(Long taskId, TaskUpdateRequest request, Long expectedVersion, CurrentUser currentUser);
+
+    Long patchTask(Long taskId, TaskPatchRequest request, Long expectedVersion, CurrentUser currentUser);
+
+    void deleteTask(Long taskId, Long expectedVersion, CurrentUser currentUser);
+
+    TaskResponse getTaskById(Long taskId, CurrentUser currentUser);
+
+    TaskResponse assignTaskToUser(Long taskId, Long userId, Long expectedVersion, CurrentUser currentUser);
+
+    TaskResponse updateTaskStatus(Long taskId, TaskStatus status, Long expectedVersion, CurrentUser currentUser);
+
+    TaskBulkResponse updateTasks(TaskBulkUpdateRequest request, CurrentUser currentUser);
+
+    TaskBulkResponse assignTasks(TaskBulkAssignRequest request, CurrentUser currentUser);
+
+    Page<TaskResponse> getTasksByProject(Long projectId, TaskFilter filter,
+                                         Pageable pageable, CurrentUser currentUser);
+
+    Page<TaskResponse> getTasksByAssignedUser(Long userId, TaskFilter filter,
+                                              Pageable pageable, CurrentUser currentUser);
+
+    Page<TaskResponse> getMyAssignedTasks(TaskFilter filter,
+                                          Pageable pageable, CurrentUser currentUser);
+
+    Slice<TaskResponse> getTaskSliceByProject(Long projectId, TaskFilter filter,
+                                              Pageable pageable, CurrentUser currentUser);
 
-    TaskResponse updateTask(Long taskId, TaskUpdateRequest request, String userEmail);
+    Slice<TaskResponse> getTaskSliceByAssignedUser(Long userId, TaskFilter filter,
+                                                   Pageable pageable, CurrentUser currentUser);
 
-    void deleteTask(Long taskId, String userEmail);
+    Slice<TaskResponse> getMyAssignedTaskSlice(TaskFilter filter,
+                                               Pageable pageable, CurrentUser currentUser);
 
-    TaskResponse getTaskById(Long taskId, String userEmail);
+    CursorPageResponse<TaskResponse> scrollTasksByProject(Long projectId, TaskFilter filter, String cursor,
+                                                          Pageable pageable, CurrentUser currentUser);
 
-    TaskResponse assignTaskToUser(Long taskId, Long userId, String userEmail);
+    CursorPageResponse<TaskResponse> scrollTasksByAssignedUser(Long userId, TaskFilter filter, String cursor,
+                                                               Pageable pageable, CurrentUser currentUser);
 
-    TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String userEmail);
+    CursorPageResponse<TaskResponse> scrollMyAssignedTasks(TaskFilter filter, String cursor,
+                                                           Pageable pageable, CurrentUser currentUser);
 
-    Page<TaskResponse> getTasksByProject(Long projectId, TaskStatus status, Priority priority,
-                                         Pageable pageable, String userEmail);
+    Slice<TaskResponse> searchTasks(String query, Pageable pageable, CurrentUser currentUser);
 
-    Page<TaskResponse> getTasksByAssignedUser(Long userId, TaskStatus status, Priority priority,
-                                              Pageable pageable, String userEmail);
+    Slice<TaskResponse> getOverdueTasks(Pageable pageable, CurrentUser currentUser);
 
-    Page<TaskResponse> getMyAssignedTasks(TaskStatus status, Priority priority,
-                                          Pageable pageable, String userEmail);
-}
\ No newline at end of file
+    CursorPageResponse<TaskChangeResponse> getTaskChanges(String since, Pageable pageable, CurrentUser currentUser);
+}
@@ -0,0 +1,179 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskStatsResponse;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import naneishvili.aleksandre.tasktrackerapi.repository.ArchivedTaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Task counts by status and priority for every project, archived tasks included, plus a total across
+// projects. The task write paths adjust them after each commit, so reading them never touches the
+// database. A periodic reconcile replaces them with fresh GROUP BY counts; an adjustment that commits
+// while the counts are being read can be missed, and the next reconcile corrects it.
+@Slf4j
+@Component
+public class TaskStatistics {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    private volatile Counters counters;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:PT15M}",
+            initialDelayString = "${tasks.stats.reconcile-interval:PT15M}")
+    public void reconcile() {
+        Counters fresh = new Counters();
+        taskRepository.countGroupedByProjectStatusAndPriority().forEach(fresh::add);
+        archivedTaskRepository.countGroupedByProjectStatusAndPriority().forEach(fresh::add);
+
+        Counters previous = counters;
+        counters = fresh;
+        if (previous != null && !previous.sameTotalsAs(fresh)) {
+            log.warn("Task statistics had drifted from the database and were corrected");
+        }
+    }
+
+    public TaskStatsResponse projectStats(Long projectId) {
+        Counters current = current();
+        AtomicLongArray cells = current.byProject.get(projectId);
+        TaskStatsResponse response = toResponse(current, cells == null ? new AtomicLongArray(cellCount()) : cells);
+        response.setProjectId(projectId);
+        return response;
+    }
+
+    public TaskStatsResponse totals() {
+        Counters current = current();
+        return toResponse(current, current.total);
+    }
+
+    public void taskCreated(Long projectId, TaskStatus status, Priority priority) {
+        TransactionHooks.afterCommit(() -> adjust(projectId, status, priority, 1));
+    }
+
+    public void taskDeleted(Long projectId, TaskStatus status, Priority priority) {
+        TransactionHooks.afterCommit(() -> adjust(projectId, status, priority, -1));
+    }
+
+    public void taskChanged(Long projectId, TaskStatus previousStatus, Priority previousPriority,
+                            TaskStatus status, Priority priority) {
+        if (previousStatus == status && previousPriority == priority) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            adjust(projectId, previousStatus, previousPriority, -1);
+            adjust(projectId, status, priority, 1);
+        });
+    }
+
+    public void projectDeleted(Long projectId) {
+        TransactionHooks.afterCommit(() -> {
+            Counters current = counters;
+            if (current != null) {
+                current.removeProject(projectId);
+            }
+        });
+    }
+
+    private void adjust(Long projectId, TaskStatus status, Priority priority, long delta) {
+        Counters current = counters;
+        if (current != null) {
+            current.add(projectId, cell(status, priority), delta);
+        }
+    }
+
+    private Counters current() {
+        Counters current = counters;
+        if (current == null) {
+            throw new ServiceUnavailableException("Task statistics are still loading, please retry later", 5);
+        }
+        return current;
+    }
+
+    private static TaskStatsResponse toResponse(Counters counters, AtomicLongArray cells) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        long total = 0;
+        for (TaskStatus status : STATUSES) {
+            for (Priority priority : PRIORITIES) {
+                long count = cells.get(cell(status, priority));
+                byStatus.merge(status, count, Long::sum);
+                byPriority.merge(priority, count, Long::sum);
+                total += count;
+            }
+        }
+
+        TaskStatsResponse response = new TaskStatsResponse();
+        response.setTotal(total);
+        response.setByStatus(byStatus);
+        response.setByPriority(byPriority);
+        response.setReconciledAt(counters.reconciledAt);
+        return response;
+    }
+
+    private static int cell(TaskStatus status, Priority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    private static int cellCount() {
+        return STATUSES.length * PRIORITIES.length;
+    }
+
+    // One status x priority matrix per project and one for all projects, kept in step.
+    private static final class Counters {
+
+        private final Map<Long, AtomicLongArray> byProject = new ConcurrentHashMap<>();
+
+        private final AtomicLongArray total = new AtomicLongArray(cellCount());
+
+        private final LocalDateTime reconciledAt = LocalDateTime.now();
+
+        void add(TaskCount count) {
+            add(count.getProjectId(), cell(count.getStatus(), count.getPriority()), count.getCount());
+        }
+
+        void add(Long projectId, int cell, long delta) {
+            byProject.computeIfAbsent(projectId, id -> new AtomicLongArray(cellCount())).addAndGet(cell, delta);
+            total.addAndGet(cell, delta);
+        }
+
+        void removeProject(Long projectId) {
+            AtomicLongArray removed = byProject.remove(projectId);
+            if (removed != null) {
+                for (int cell = 0; cell < removed.length(); cell++) {
+                    total.addAndGet(cell, -removed.get(cell));
+                }
+            }
+        }
+
+        boolean sameTotalsAs(Counters other) {
+            for (int cell = 0; cell < total.length(); cell++) {
+                if (total.get(cell) != other.total.get(cell)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
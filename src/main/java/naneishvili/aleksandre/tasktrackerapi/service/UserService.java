@@ -4,6 +4,7 @@ import naneishvili.aleksandre.tasktrackerapi.dto.request.UserRegistrationRequest
 import naneishvili.aleksandre.tasktrackerapi.dto.response.UserResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserService {
@@ -14,6 +15,10 @@ public interface UserService {
 
     User findById(Long id);
 
+    List<User> findAllByIds(Collection<Long> ids);
+
+    User getReferenceById(Long id);
+
     List<UserResponse> getAllUsers();
 
     boolean existsByEmail(String email);
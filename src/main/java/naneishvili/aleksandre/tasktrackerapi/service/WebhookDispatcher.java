@@ -0,0 +1,277 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDelivery;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeadLetterRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// POSTs queued webhook deliveries from its own threads, so a slow or failing endpoint never holds up a
+// request or the outbox relay. Every poll interval the subscriptions with due deliveries are handed to
+// a sender pool, each to at most one sender at a time so its events arrive in order. A sender coalesces
+// up to batch-size queued events into one POST and keeps going while batches are full. At most
+// max-concurrency-per-endpoint POSTs go to one scheme, host and port at once, however many
+// subscriptions point there. A failed POST backs the subscription off exponentially and counts an
+// attempt against each event in it; events out of attempts move to the dead letters. The URL is checked
+// against WebhookUrlPolicy before every POST, and a refused host counts as a failed POST; the POST goes
+// to the addresses that check resolved. Each POST is signed with the subscription's secret so the
+// receiver can tell it came from here.
+@Slf4j
+@Component
+public class WebhookDispatcher {
+
+    public static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WebhookUrlPolicy webhookUrlPolicy;
+
+    @Value("${webhooks.poll-interval:PT1S}")
+    private Duration pollInterval;
+
+    @Value("${webhooks.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${webhooks.batch-size:100}")
+    private int batchSize;
+
+    @Value("${webhooks.max-concurrency-per-endpoint:2}")
+    private int maxConcurrencyPerEndpoint;
+
+    @Value("${webhooks.timeout:PT10S}")
+    private Duration timeout;
+
+    @Value("${webhooks.backoff.initial:PT5S}")
+    private Duration initialBackoff;
+
+    @Value("${webhooks.backoff.max:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${webhooks.max-attempts:8}")
+    private int maxAttempts;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Semaphore> endpoints = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService poller;
+
+    private ThreadPoolExecutor sender;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // A subscription is queued at most once at a time, so the queue is bounded by the subscription count.
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("webhook-sender-"));
+        poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("webhook-poll-"));
+        poller.scheduleWithFixedDelay(this::pollQuietly, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            sender.shutdownNow();
+        }
+    }
+
+    void poll(LocalDateTime now) {
+        List<WebhookSubscription> due = transactionTemplate.execute(status ->
+                webhookSubscriptionRepository.findDue(now, Limit.of(senderThreads * 16)));
+        for (WebhookSubscription subscription : due) {
+            if (!inFlight.add(subscription.getId())) {
+                continue;
+            }
+            Semaphore endpoint = endpoints.computeIfAbsent(endpointOf(subscription.getUrl()),
+                    key -> new Semaphore(maxConcurrencyPerEndpoint));
+            if (!endpoint.tryAcquire()) {
+                // Picked up again on a later poll, once the endpoint has a free slot.
+                inFlight.remove(subscription.getId());
+                continue;
+            }
+            try {
+                sender.execute(() -> {
+                    try {
+                        while (deliver(subscription.getId(), LocalDateTime.now())) {
+                            // Full batch sent; more may be queued.
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Webhook {} delivery failed: {}", subscription.getId(), e.getMessage());
+                    } finally {
+                        endpoint.release();
+                        inFlight.remove(subscription.getId());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down.
+                endpoint.release();
+                inFlight.remove(subscription.getId());
+                return;
+            }
+        }
+    }
+
+    // Sends the head of one subscription's queue as a single POST. Returns true when a full batch went
+    // out, so the caller can send the next one right away.
+    boolean deliver(Long subscriptionId, LocalDateTime now) {
+        WebhookSubscription subscription = transactionTemplate.execute(status ->
+                webhookSubscriptionRepository.findById(subscriptionId).orElse(null));
+        if (subscription == null) {
+            return false;
+        }
+        List<WebhookDelivery> batch = transactionTemplate.execute(status ->
+                webhookDeliveryRepository.findBatch(subscriptionId, Limit.of(batchSize)));
+        if (batch.isEmpty()) {
+            return false;
+        }
+        List<Long> ids = batch.stream().map(WebhookDelivery::getId).toList();
+
+        String error = post(subscription, batch);
+        if (error == null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                webhookDeliveryRepository.deleteByIdIn(ids);
+                webhookSubscriptionRepository.clearFailures(subscriptionId);
+            });
+            return batch.size() == batchSize;
+        }
+
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        int failures = subscription.getFailures() + 1;
+        LocalDateTime nextAttemptAt = now.plus(backoff(failures));
+        transactionTemplate.executeWithoutResult(status -> {
+            webhookDeliveryRepository.incrementAttempts(ids);
+            int dead = webhookDeadLetterRepository.copyExhausted(ids, maxAttempts, lastError, now);
+            if (dead > 0) {
+                webhookDeliveryRepository.deleteExhausted(ids, maxAttempts);
+                log.warn("Webhook {} gave up on {} events after {} attempts: {}", subscriptionId, dead,
+                        maxAttempts, error);
+            }
+            webhookSubscriptionRepository.recordFailure(subscriptionId, failures, nextAttemptAt);
+        });
+        log.debug("Webhook {} POST failed ({}), retrying at {}", subscriptionId, error, nextAttemptAt);
+        return false;
+    }
+
+    // initial, 2 x initial, 4 x initial, ... up to the maximum.
+    Duration backoff(int failures) {
+        int doublings = Math.min(failures - 1, 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    // Returns null on a 2xx response, otherwise what went wrong.
+    private String post(WebhookSubscription subscription, List<WebhookDelivery> batch) {
+        WebhookTarget target = webhookUrlPolicy.check(subscription.getUrl());
+        if (!target.isAllowed()) {
+            return target.getViolation();
+        }
+        String body;
+        try {
+            body = body(subscription, batch);
+        } catch (JsonProcessingException e) {
+            return e.getMessage();
+        }
+        Map<String, String> headers = Map.of(
+                "Content-Type", "application/json",
+                SIGNATURE_HEADER, "sha256=" + sign(subscription.getSecret(), body));
+        try {
+            int status = PinnedHttpPost.post(URI.create(subscription.getUrl()), target.getAddresses(), headers,
+                    body.getBytes(StandardCharsets.UTF_8), timeout);
+            return status / 100 == 2 ? null : "HTTP " + status;
+        } catch (IOException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
+
+    private String body(WebhookSubscription subscription, List<WebhookDelivery> batch)
+            throws JsonProcessingException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("webhookId", subscription.getId());
+        body.put("projectId", subscription.getProjectId());
+        ArrayNode events = body.putArray("events");
+        for (WebhookDelivery delivery : batch) {
+            events.add(objectMapper.readTree(delivery.getPayload()));
+        }
+        return objectMapper.writeValueAsString(body);
+    }
+
+    // Hex HMAC-SHA256 of the UTF-8 body under the subscription's secret.
+    static String sign(String secret, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is unavailable", e);
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Webhook poll failed, retrying in {}: {}", pollInterval, e.getMessage());
+        }
+    }
+
+    private static String endpointOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
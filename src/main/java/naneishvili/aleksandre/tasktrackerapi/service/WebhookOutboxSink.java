@@ -0,0 +1,64 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDelivery;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Fans relayed outbox events out into the delivery queue of every webhook subscribed to their project.
+// Only the queue insert happens on the relay thread; WebhookDispatcher does the HTTP work.
+@Component
+public class WebhookOutboxSink implements OutboxSink {
+
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        Set<Long> projectIds = events.stream().map(OutboxEvent::getProjectId).collect(Collectors.toSet());
+        Map<Long, List<WebhookSubscription>> subscriptions = transactionTemplate.execute(status ->
+                webhookSubscriptionRepository.findByProjectIdIn(projectIds)).stream()
+                .collect(Collectors.groupingBy(WebhookSubscription::getProjectId));
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        List<WebhookDelivery> deliveries = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            List<WebhookSubscription> subscribed = subscriptions.get(event.getProjectId());
+            if (subscribed == null) {
+                continue;
+            }
+            String payload = objectMapper.writeValueAsString(outbox.toJson(event));
+            for (WebhookSubscription subscription : subscribed) {
+                deliveries.add(new WebhookDelivery(null, subscription.getId(), event.getId(), payload,
+                        event.getChangeSeq(), 0, null));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> webhookDeliveryRepository.saveAll(deliveries));
+    }
+}
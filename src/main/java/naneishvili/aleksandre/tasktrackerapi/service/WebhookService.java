@@ -0,0 +1,21 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.request.WebhookCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookDeadLetterResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookResponse;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface WebhookService {
+
+    WebhookResponse createWebhook(Long projectId, WebhookCreateRequest request, CurrentUser currentUser);
+
+    List<WebhookResponse> getWebhooks(Long projectId, CurrentUser currentUser);
+
+    void deleteWebhook(Long projectId, Long webhookId, CurrentUser currentUser);
+
+    Slice<WebhookDeadLetterResponse> getDeadLetters(Long projectId, Pageable pageable, CurrentUser currentUser);
+}
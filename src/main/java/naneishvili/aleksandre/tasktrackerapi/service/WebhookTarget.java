@@ -0,0 +1,27 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.Value;
+
+import java.net.InetAddress;
+import java.util.List;
+
+// The outcome of checking a webhook URL: either why it may not be called, or the addresses its host
+// resolved to when it was checked. Those are the only addresses a POST to it may connect to.
+@Value
+public class WebhookTarget {
+
+    String violation;
+    List<InetAddress> addresses;
+
+    static WebhookTarget refused(String violation) {
+        return new WebhookTarget(violation, List.of());
+    }
+
+    static WebhookTarget allowed(List<InetAddress> addresses) {
+        return new WebhookTarget(null, addresses);
+    }
+
+    public boolean isAllowed() {
+        return violation == null;
+    }
+}
@@ -0,0 +1,86 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Keeps webhooks from reaching the server's own network. A webhook host must resolve only to public
+// addresses: loopback, link-local (which includes cloud metadata endpoints), site-local, unique-local,
+// wildcard and multicast addresses are refused. Hosts listed in webhooks.allowed-hosts skip the address
+// check, for receivers that legitimately run on the internal network. Checked when a webhook is
+// registered and again before every POST, since DNS can change in between. A POST connects only to the
+// addresses that check resolved, so a DNS answer that changes right after it cannot redirect the POST.
+@Component
+public class WebhookUrlPolicy {
+
+    @Value("${webhooks.allowed-hosts:}")
+    private Set<String> allowedHosts;
+
+    private HostResolver hostResolver = InetAddress::getAllByName;
+
+    @PostConstruct
+    void init() {
+        allowedHosts = allowedHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    // Returns null when the URL may be called, otherwise why not.
+    public String violation(String url) {
+        return check(url).getViolation();
+    }
+
+    public WebhookTarget check(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return WebhookTarget.refused("Webhook URL is malformed");
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            return WebhookTarget.refused("Webhook URL must be an http or https URL");
+        }
+        String host = uri.getHost();
+        if (host == null || host.isEmpty()) {
+            return WebhookTarget.refused("Webhook URL has no host");
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = hostResolver.resolve(host);
+        } catch (UnknownHostException e) {
+            return WebhookTarget.refused("Webhook host " + host + " cannot be resolved");
+        }
+        if (!allowedHosts.contains(host.toLowerCase(Locale.ROOT))) {
+            for (InetAddress address : addresses) {
+                if (isInternal(address)) {
+                    return WebhookTarget.refused("Webhook host " + host + " resolves to a non-public address");
+                }
+            }
+        }
+        return WebhookTarget.allowed(List.of(addresses));
+    }
+
+    private static boolean isInternal(InetAddress address) {
+        return address.isLoopbackAddress() || address.isLinkLocalAddress() || address.isSiteLocalAddress() ||
+                address.isAnyLocalAddress() || address.isMulticastAddress() ||
+                // IPv6 unique local addresses, fc00::/7; isSiteLocalAddress only covers the deprecated fec0::/10.
+                (address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc);
+    }
+
+    // InetAddress.getAllByName outside of tests.
+    interface HostResolver {
+        InetAddress[] resolve(String host) throws UnknownHostException;
+    }
+}
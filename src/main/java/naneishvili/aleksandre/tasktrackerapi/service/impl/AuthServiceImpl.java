@@ -4,21 +4,25 @@ import naneishvili.aleksandre.tasktrackerapi.dto.request.UserLoginRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.JwtResponse;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.UserResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.UserMapper;
 import naneishvili.aleksandre.tasktrackerapi.security.JwtUtil;
+import naneishvili.aleksandre.tasktrackerapi.security.PasswordHasher;
 import naneishvili.aleksandre.tasktrackerapi.service.AuthService;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
+    // BCrypt hash at the encoder's default cost, checked against when the email is unknown so that a
+    // missing account takes as long to reject as a wrong password.
+    private static final String DUMMY_HASH = "$2a$10$i25WDUodrq2woFalzLZu8eAKGSH0Ndzj3Hp6mVF5tulMSo01x6GPO";
+
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -29,23 +33,26 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private UserMapper userMapper;
 
+    // Deliberately not transactional: the user lookup commits before the BCrypt check, so no connection
+    // is held while the password is hashed.
     @Override
     public JwtResponse login(UserLoginRequest request) {
+        User user;
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-
-            String token = generateToken(request.getEmail());
+            user = userService.findByEmail(request.getEmail());
+        } catch (ResourceNotFoundException e) {
+            passwordHasher.matches(request.getPassword(), DUMMY_HASH);
+            throw new BadCredentialsException("Invalid email or password");
+        }
 
-            User user = userService.findByEmail(request.getEmail());
-            UserResponse userResponse = userMapper.toResponse(user);
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
 
-            return new JwtResponse(token, userResponse);
+        String token = jwtUtil.generateToken(user);
+        UserResponse userResponse = userMapper.toResponse(user);
 
-        } catch (AuthenticationException e) {
-            throw e;
-        }
+        return new JwtResponse(token, userResponse);
     }
 
     @Override
@@ -62,4 +69,4 @@ public class AuthServiceImpl implements AuthService {
     public boolean validateToken(String token, String username) {
         return jwtUtil.validateToken(token, username);
     }
-}
\ No newline at end of file
+}
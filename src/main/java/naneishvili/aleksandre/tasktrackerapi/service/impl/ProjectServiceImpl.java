@@ -1,23 +1,50 @@
 package naneishvili.aleksandre.tasktrackerapi.service.impl;
 
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectUpdateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.ProjectResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskStatsResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.Project;
-import naneishvili.aleksandre.tasktrackerapi.entity.User;
 import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+import naneishvili.aleksandre.tasktrackerapi.exception.PreconditionFailedException;
 import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.exception.UnauthorizedException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.ProjectMapper;
+import naneishvili.aleksandre.tasktrackerapi.repository.ArchivedTaskRepository;
 import naneishvili.aleksandre.tasktrackerapi.repository.ProjectRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeadLetterRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.Outbox;
 import naneishvili.aleksandre.tasktrackerapi.service.ProjectService;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskChangeLog;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskCountCache;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskDueDates;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskEventStream;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskSearchIndex;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskStatistics;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class ProjectServiceImpl implements ProjectService {
 
@@ -30,59 +57,162 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private UserService userService;
 
-    @Override
-    public ProjectResponse createProject(ProjectCreateRequest request, String ownerEmail) {
-        User owner = userService.findByEmail(ownerEmail);
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Autowired
+    private TaskCountCache taskCountCache;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskDueDates taskDueDates;
 
-        if (owner.getRole() != Role.MANAGER && owner.getRole() != Role.ADMIN) {
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Value("${tasks.delete.chunk-size:1000}")
+    private int deleteChunkSize;
+
+    @Override
+    @Transactional
+    public ProjectResponse createProject(ProjectCreateRequest request, CurrentUser currentUser) {
+        if (currentUser.getRole() != Role.MANAGER && currentUser.getRole() != Role.ADMIN) {
             throw new UnauthorizedException("Only MANAGER and ADMIN can create projects");
         }
 
         Project project = projectMapper.toEntity(request);
-        project.setOwner(owner);
+        project.setOwner(userService.getReferenceById(currentUser.getId()));
 
         Project savedProject = projectRepository.save(project);
-        return projectMapper.toResponse(savedProject);
+        ProjectResponse response = projectMapper.toResponse(savedProject);
+        outbox.projectChanged(TaskEventType.CREATED, savedProject.getId(), response, taskChangeLog.next());
+        return response;
     }
 
     @Override
-    public ProjectResponse updateProject(Long projectId, ProjectUpdateRequest request, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional
+    public ProjectResponse updateProject(Long projectId, ProjectUpdateRequest request, Long expectedVersion,
+                                         CurrentUser currentUser) {
         Project project = findEntityById(projectId);
 
-        if (user.getRole() == Role.ADMIN ||
-                (user.getRole() == Role.MANAGER && project.getOwner().getId().equals(user.getId()))) {
+        if (currentUser.getRole() == Role.ADMIN ||
+                (currentUser.getRole() == Role.MANAGER && project.getOwner().getId().equals(currentUser.getId()))) {
 
+            checkVersion(project, expectedVersion);
             projectMapper.updateEntity(request, project);
-            Project updatedProject = projectRepository.save(project);
+            Project updatedProject = projectRepository.saveAndFlush(project);
+            ProjectResponse response = projectMapper.toResponse(updatedProject);
+            outbox.projectChanged(TaskEventType.UPDATED, projectId, response, taskChangeLog.next());
 
-            return projectMapper.toResponse(updatedProject);
+            return response;
         } else {
             throw new UnauthorizedException("You don't have permission to update this project");
         }
     }
 
+    // The project usually comes from the second-level cache and @DynamicUpdate limits the UPDATE to the
+    // patched columns. Returns the new version.
     @Override
-    public void deleteProject(Long projectId, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional
+    public Long patchProject(Long projectId, ProjectPatchRequest request, Long expectedVersion,
+                             CurrentUser currentUser) {
         Project project = findEntityById(projectId);
 
-        if (user.getRole() == Role.ADMIN ||
-                (user.getRole() == Role.MANAGER && project.getOwner().getId().equals(user.getId()))) {
+        if (currentUser.getRole() == Role.ADMIN ||
+                (currentUser.getRole() == Role.MANAGER && project.getOwner().getId().equals(currentUser.getId()))) {
+
+            checkVersion(project, expectedVersion);
+            if (request.getName() != null) {
+                project.setName(request.getName().get());
+            }
+            if (request.getDescription() != null) {
+                project.setDescription(request.getDescription().orElse(null));
+            }
 
-            projectRepository.delete(project);
+            Project patchedProject = projectRepository.saveAndFlush(project);
+            outbox.projectChanged(TaskEventType.UPDATED, projectId, patchedResponse(patchedProject),
+                    taskChangeLog.next());
+            return patchedProject.getVersion();
+        } else {
+            throw new UnauthorizedException("You don't have permission to update this project");
+        }
+    }
+
+    // Removes tasks with set-based deletes in id chunks rather than letting the Project.tasks cascade
+    // load and delete every task entity; archived copies and the project's webhooks, with their queued
+    // and dead-lettered deliveries, go in a statement each. Nothing else references tasks, so the
+    // project row goes last, guarded by the version that was checked.
+    @Override
+    @Transactional
+    public void deleteProject(Long projectId, Long expectedVersion, CurrentUser currentUser) {
+        Project project = findEntityById(projectId);
+
+        if (currentUser.getRole() == Role.ADMIN ||
+                (currentUser.getRole() == Role.MANAGER && project.getOwner().getId().equals(currentUser.getId()))) {
+
+            checkVersion(project, expectedVersion);
+
+            long total = taskRepository.countByProjectId(projectId);
+            long deleted = 0;
+            long changeSeq = taskChangeLog.next();
+            List<Long> chunk;
+            while (!(chunk = taskRepository.findIdsByProjectId(projectId, new TaskFilter(), deleteChunkSize)).isEmpty()) {
+                taskChangeLog.tasksRemoved(chunk, changeSeq);
+                deleted += taskRepository.deleteByIdIn(chunk);
+                log.info("Deleting project {}: removed {}/{} tasks", projectId, deleted, total);
+            }
+
+            int archived = archivedTaskRepository.deleteByProjectId(projectId);
+            log.info("Deleting project {}: removed {} archived tasks", projectId, archived);
+
+            webhookDeliveryRepository.deleteByProjectId(projectId);
+            webhookDeadLetterRepository.deleteByProjectId(projectId);
+            webhookSubscriptionRepository.deleteByProjectId(projectId);
+
+            if (projectRepository.deleteProjectById(projectId, project.getVersion()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Project.class, projectId);
+            }
+            taskCountCache.projectDeleted(projectId);
+            taskStatistics.projectDeleted(projectId);
+            taskSearchIndex.projectRemoved(projectId);
+            taskDueDates.projectRemoved(projectId);
+            taskEventStream.projectDeleted(projectId);
+            outbox.projectChanged(TaskEventType.DELETED, projectId, null, changeSeq);
         } else {
             throw new UnauthorizedException("You don't have permission to delete this project");
         }
     }
 
     @Override
-    public ProjectResponse getProjectById(Long projectId, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional(readOnly = true)
+    public ProjectResponse getProjectById(Long projectId, CurrentUser currentUser) {
         Project project = findEntityById(projectId);
 
-        if (user.getRole() == Role.ADMIN ||
-                (user.getRole() == Role.MANAGER && project.getOwner().getId().equals(user.getId()))) {
+        if (currentUser.getRole() == Role.ADMIN ||
+                (currentUser.getRole() == Role.MANAGER && project.getOwner().getId().equals(currentUser.getId()))) {
 
             return projectMapper.toResponse(project);
         } else {
@@ -91,9 +221,9 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public List<ProjectResponse> getProjectsByOwner(String ownerEmail) {
-        User owner = userService.findByEmail(ownerEmail);
-        List<Project> projects = projectRepository.findByOwner(owner);
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getProjectsByOwner(CurrentUser currentUser) {
+        List<ProjectSummary> projects = projectRepository.findSummariesByOwnerId(currentUser.getId());
 
         return projects.stream()
                 .map(projectMapper::toResponse)
@@ -101,24 +231,99 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public List<ProjectResponse> getAllProjects(String userEmail) {
-        User user = userService.findByEmail(userEmail);
-
-        if (user.getRole() == Role.ADMIN) {
-            return projectRepository.findAll()
+    @Transactional(readOnly = true)
+    public List<ProjectResponse> getAllProjects(CurrentUser currentUser) {
+        if (currentUser.getRole() == Role.ADMIN) {
+            return projectRepository.findAllSummaries()
                     .stream()
                     .map(projectMapper::toResponse)
                     .collect(Collectors.toList());
-        } else if (user.getRole() == Role.MANAGER) {
-            return getProjectsByOwner(userEmail);
+        } else if (currentUser.getRole() == Role.MANAGER) {
+            return getProjectsByOwner(currentUser);
         } else {
             throw new UnauthorizedException("You don't have permission to view projects");
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getProjectTaskStats(Long projectId, CurrentUser currentUser) {
+        Long ownerId = findOwnerId(projectId);
+
+        if (currentUser.getRole() == Role.ADMIN ||
+                (currentUser.getRole() == Role.MANAGER && ownerId.equals(currentUser.getId()))) {
+
+            return taskStatistics.projectStats(projectId);
+        } else {
+            throw new UnauthorizedException("You don't have permission to view this project");
+        }
+    }
+
+    // Same access as the project's task listing. No transaction is held open for the life of the stream.
+    @Override
+    public SseEmitter subscribeToTaskEvents(Long projectId, CurrentUser currentUser) {
+        Long ownerId = findOwnerId(projectId);
+
+        if (currentUser.getRole() != Role.ADMIN &&
+                (currentUser.getRole() != Role.MANAGER || !ownerId.equals(currentUser.getId()))) {
+            throw new UnauthorizedException("You don't have permission to view tasks for this project");
+        }
+        return taskEventStream.subscribe(projectId);
+    }
+
+    // Served from the in-memory counters only, so there is no transaction to open.
+    @Override
+    public TaskStatsResponse getTaskStatsTotals(CurrentUser currentUser) {
+        if (currentUser.getRole() != Role.ADMIN) {
+            throw new UnauthorizedException("Only ADMIN can view statistics across projects");
+        }
+        return taskStatistics.totals();
+    }
+
+    // A patch never changes the owner, so its event leaves the owner out rather than loading the user.
+    private ProjectResponse patchedResponse(Project project) {
+        ProjectResponse response = new ProjectResponse();
+        response.setId(project.getId());
+        response.setName(project.getName());
+        response.setDescription(project.getDescription());
+        response.setCreateDate(project.getCreateDate());
+        response.setUpdateDate(project.getUpdateDate());
+        response.setVersion(project.getVersion());
+        return response;
+    }
+
+    private void checkVersion(Project project, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new PreconditionFailedException("Project " + project.getId() + " is at version " +
+                    project.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    // Entity lookups join the caller's transaction so nothing lazy escapes it; with open-in-view off a
+    // detached Project would fail on first access to its owner or tasks.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
     public Project findEntityById(Long projectId) {
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Project> findEntitiesByIds(Collection<Long> projectIds) {
+        List<Project> projects = projectRepository.findByIdIn(projectIds);
+        if (projects.size() < projectIds.size()) {
+            Set<Long> found = projects.stream().map(Project::getId).collect(Collectors.toSet());
+            List<Long> missing = projectIds.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+            throw new ResourceNotFoundException("Projects not found with ids: " + missing);
+        }
+        return projects;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long findOwnerId(Long projectId) {
+        return projectRepository.findOwnerIdById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with id: " + projectId));
+    }
+}
@@ -1,29 +1,85 @@
 package naneishvili.aleksandre.tasktrackerapi.service.impl;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkAssignRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskUpdateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.CursorPageResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskBulkResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskChangeResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskEventResponse;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.Project;
 import naneishvili.aleksandre.tasktrackerapi.entity.Task;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.BulkOutcome;
 import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
 import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
 import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.exception.BadRequestException;
+import naneishvili.aleksandre.tasktrackerapi.exception.GoneException;
+import naneishvili.aleksandre.tasktrackerapi.exception.PreconditionFailedException;
 import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.exception.UnauthorizedException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.TaskMapper;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskChangeCursor;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskCursor;
 import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepositoryCustom;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskTombstoneRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.Outbox;
 import naneishvili.aleksandre.tasktrackerapi.service.ProjectService;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskChangeLog;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskCountCache;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskDueDates;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskEventStream;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskSearchIndex;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskStatistics;
 import naneishvili.aleksandre.tasktrackerapi.service.TaskService;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    private static final int MAX_BULK_SIZE = 10000;
+
     @Autowired
     private TaskRepository taskRepository;
 
@@ -36,15 +92,35 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private TaskCountCache taskCountCache;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStatistics taskStatistics;
+
+    @Autowired
+    private TaskDueDates taskDueDates;
+
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
     @Override
-    public TaskResponse createTask(TaskCreateRequest request, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional
+    public TaskResponse createTask(TaskCreateRequest request, CurrentUser currentUser) {
         Project project = projectService.findEntityById(request.getProjectId());
-
-        if (user.getRole() != Role.ADMIN &&
-                (user.getRole() != Role.MANAGER || !project.getOwner().getId().equals(user.getId()))) {
-            throw new UnauthorizedException("You don't have permission to create tasks for this project");
-        }
+        checkCanCreateTasks(project, currentUser);
 
         Task task = taskMapper.toEntity(request);
         task.setProject(project);
@@ -54,21 +130,82 @@ public class TaskServiceImpl implements TaskService {
             task.setAssignedUser(assignedUser);
         }
 
+        task.setChangeSeq(taskChangeLog.next());
         Task savedTask = taskRepository.save(task);
-        return taskMapper.toResponse(savedTask);
+        taskCountCache.taskCreated(project.getId(), request.getAssignedUserId());
+        taskStatistics.taskCreated(project.getId(), savedTask.getStatus(), savedTask.getPriority());
+        taskSearchIndex.taskSaved(savedTask);
+        taskDueDates.taskSaved(savedTask);
+        TaskResponse response = taskMapper.toResponse(savedTask);
+        publish(TaskEventType.CREATED, savedTask, response);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public List<TaskResponse> createTasks(TaskBulkCreateRequest request, CurrentUser currentUser) {
+        List<TaskCreateRequest> requests = request.getTasks();
+
+        Set<Long> projectIds = requests.stream()
+                .map(TaskCreateRequest::getProjectId)
+                .collect(Collectors.toSet());
+        Map<Long, Project> projects = projectService.findEntitiesByIds(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        projects.values().forEach(project -> checkCanCreateTasks(project, currentUser));
+
+        Set<Long> assigneeIds = requests.stream()
+                .map(TaskCreateRequest::getAssignedUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> assignees = assigneeIds.isEmpty() ? Map.of() : userService.findAllByIds(assigneeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        long changeSeq = taskChangeLog.next();
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (TaskCreateRequest taskRequest : requests) {
+            Task task = taskMapper.toEntity(taskRequest);
+            task.setProject(projects.get(taskRequest.getProjectId()));
+            task.setChangeSeq(changeSeq);
+            if (taskRequest.getAssignedUserId() != null) {
+                task.setAssignedUser(assignees.get(taskRequest.getAssignedUserId()));
+            }
+            tasks.add(task);
+        }
+
+        List<Task> savedTasks = taskRepository.saveAllAndFlush(tasks);
+        savedTasks.forEach(task -> {
+            taskCountCache.taskCreated(task.getProject().getId(), assigneeIdOf(task));
+            taskStatistics.taskCreated(task.getProject().getId(), task.getStatus(), task.getPriority());
+            taskSearchIndex.taskSaved(task);
+            taskDueDates.taskSaved(task);
+        });
+
+        List<TaskResponse> responses = new ArrayList<>(savedTasks.size());
+        for (Task task : savedTasks) {
+            TaskResponse response = taskMapper.toResponse(task);
+            publish(TaskEventType.CREATED, task, response);
+            responses.add(response);
+        }
+        return responses;
     }
 
     @Override
-    public TaskResponse updateTask(Long taskId, TaskUpdateRequest request, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional
+    public TaskResponse updateTask(Long taskId, TaskUpdateRequest request, Long expectedVersion,
+                                   CurrentUser currentUser) {
         Task task = findEntityById(taskId);
 
-        if (!canUserAccessTask(user, task)) {
+        if (!canUserAccessTask(currentUser, task)) {
             throw new UnauthorizedException("You don't have permission to update this task");
         }
+        checkVersion(task, expectedVersion);
+
+        Long previousAssigneeId = assigneeIdOf(task);
+        TaskStatus previousStatus = task.getStatus();
+        Priority previousPriority = task.getPriority();
 
-        if (user.getRole() == Role.USER && task.getAssignedUser() != null &&
-                task.getAssignedUser().getId().equals(user.getId())) {
+        if (currentUser.getRole() == Role.USER && task.getAssignedUser() != null &&
+                task.getAssignedUser().getId().equals(currentUser.getId())) {
 
             if (request.getStatus() != null) {
                 task.setStatus(request.getStatus());
@@ -82,29 +219,118 @@ public class TaskServiceImpl implements TaskService {
             }
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return taskMapper.toResponse(updatedTask);
+        long changeSeq = taskChangeLog.next();
+        task.setChangeSeq(changeSeq);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskChangeLog.taskReassigned(taskId, updatedTask.getProject().getOwner().getId(), previousAssigneeId,
+                assigneeIdOf(updatedTask), changeSeq);
+        taskCountCache.taskReassigned(previousAssigneeId, assigneeIdOf(updatedTask));
+        taskStatistics.taskChanged(updatedTask.getProject().getId(), previousStatus, previousPriority,
+                updatedTask.getStatus(), updatedTask.getPriority());
+        taskSearchIndex.taskSaved(updatedTask);
+        taskDueDates.taskSaved(updatedTask);
+        TaskResponse response = taskMapper.toResponse(updatedTask);
+        publish(TaskEventType.UPDATED, updatedTask, response);
+        return response;
+    }
+
+    // Merge patch without loading the task: one projection query for the permission and version checks,
+    // then one UPDATE of just the patched columns. Returns the new version.
+    @Override
+    @Transactional
+    public Long patchTask(Long taskId, TaskPatchRequest request, Long expectedVersion, CurrentUser currentUser) {
+        TaskAccess access = taskRepository.findAccessById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+
+        // Same rules as updateTask, except that fields a USER may not change are rejected rather than ignored.
+        if (currentUser.getRole() != Role.ADMIN && !currentUser.getId().equals(access.getProjectOwnerId()) &&
+                !currentUser.getId().equals(access.getAssignedUserId())) {
+            throw new UnauthorizedException("You don't have permission to update this task");
+        }
+        if (currentUser.getRole() == Role.USER && !request.isStatusOnly()) {
+            throw new UnauthorizedException("You can only change the status of your assigned tasks");
+        }
+        if (expectedVersion != null && !expectedVersion.equals(access.getVersion())) {
+            throw new PreconditionFailedException("Task " + taskId + " is at version " + access.getVersion() +
+                    ", not " + expectedVersion);
+        }
+        if (request.isEmpty()) {
+            return access.getVersion();
+        }
+
+        long changeSeq = taskChangeLog.next();
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("changeSeq", changeSeq);
+        if (request.getTitle() != null) {
+            changes.put("title", request.getTitle().get());
+        }
+        if (request.getDescription() != null) {
+            changes.put("description", request.getDescription().orElse(null));
+        }
+        if (request.getStatus() != null) {
+            changes.put("status", request.getStatus().get());
+        }
+        if (request.getDueDate() != null) {
+            changes.put("dueDate", request.getDueDate().orElse(null));
+        }
+        if (request.getPriority() != null) {
+            changes.put("priority", request.getPriority().get());
+        }
+        Long assigneeId = access.getAssignedUserId();
+        if (request.getAssignedUserId() != null) {
+            User assignedUser = request.getAssignedUserId().map(userService::findById).orElse(null);
+            changes.put("assignedUser", assignedUser);
+            assigneeId = assignedUser == null ? null : assignedUser.getId();
+        }
+
+        if (taskRepository.updateAttributes(taskId, access.getVersion(), changes) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
+        taskChangeLog.taskReassigned(taskId, access.getProjectOwnerId(), access.getAssignedUserId(), assigneeId,
+                changeSeq);
+        taskCountCache.taskReassigned(access.getAssignedUserId(), assigneeId);
+        taskStatistics.taskChanged(access.getProjectId(), access.getStatus(), access.getPriority(),
+                request.getStatus() == null ? access.getStatus() : request.getStatus().get(),
+                request.getPriority() == null ? access.getPriority() : request.getPriority().get());
+        if (request.getTitle() != null || request.getDescription() != null || request.getAssignedUserId() != null) {
+            taskRepository.findSearchDocumentById(taskId).ifPresent(taskSearchIndex::taskSaved);
+        }
+        if (request.getStatus() != null || request.getDueDate() != null || request.getAssignedUserId() != null) {
+            taskDueDates.tasksSaved(taskRepository.findDeadlinesByIdIn(List.of(taskId)));
+        }
+        publish(new TaskEventResponse(request.isStatusOnly() ? TaskEventType.STATUS_CHANGED : TaskEventType.UPDATED,
+                access.getProjectId(), taskId, access.getVersion() + 1, null), changeSeq);
+        return access.getVersion() + 1;
     }
 
     @Override
-    public void deleteTask(Long taskId, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional
+    public void deleteTask(Long taskId, Long expectedVersion, CurrentUser currentUser) {
         Task task = findEntityById(taskId);
 
-        if (user.getRole() != Role.ADMIN &&
-                !task.getProject().getOwner().getId().equals(user.getId())) {
+        if (currentUser.getRole() != Role.ADMIN &&
+                !task.getProject().getOwner().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("You don't have permission to delete this task");
         }
+        checkVersion(task, expectedVersion);
 
         taskRepository.delete(task);
+        long changeSeq = taskChangeLog.next();
+        taskChangeLog.taskRemoved(taskId, task.getProject().getOwner().getId(), assigneeIdOf(task), changeSeq);
+        taskCountCache.taskDeleted(task.getProject().getId(), assigneeIdOf(task));
+        taskStatistics.taskDeleted(task.getProject().getId(), task.getStatus(), task.getPriority());
+        taskSearchIndex.tasksRemoved(List.of(taskId));
+        taskDueDates.tasksRemoved(List.of(taskId));
+        publish(new TaskEventResponse(TaskEventType.DELETED, task.getProject().getId(), taskId, null, null),
+                changeSeq);
     }
 
     @Override
-    public TaskResponse getTaskById(Long taskId, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long taskId, CurrentUser currentUser) {
         Task task = findEntityById(taskId);
 
-        if (!canUserAccessTask(user, task)) {
+        if (!canUserAccessTask(currentUser, task)) {
             throw new UnauthorizedException("You don't have permission to view this task");
         }
 
@@ -112,113 +338,547 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public TaskResponse assignTaskToUser(Long taskId, Long userId, String userEmail) {
-        User user = userService.findByEmail(userEmail);
-
-        if (user.getRole() != Role.MANAGER && user.getRole() != Role.ADMIN) {
+    @Transactional
+    public TaskResponse assignTaskToUser(Long taskId, Long userId, Long expectedVersion,
+                                         CurrentUser currentUser) {
+        if (currentUser.getRole() != Role.MANAGER && currentUser.getRole() != Role.ADMIN) {
             throw new UnauthorizedException("Only MANAGER and ADMIN can assign tasks");
         }
 
         Task task = findEntityById(taskId);
 
-        if (user.getRole() == Role.MANAGER &&
-                !task.getProject().getOwner().getId().equals(user.getId())) {
+        if (currentUser.getRole() == Role.MANAGER &&
+                !task.getProject().getOwner().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("You can only assign tasks from your own projects");
         }
+        checkVersion(task, expectedVersion);
 
+        Long previousAssigneeId = assigneeIdOf(task);
         User assignedUser = userService.findById(userId);
         task.setAssignedUser(assignedUser);
-        Task updatedTask = taskRepository.save(task);
-
-        return taskMapper.toResponse(updatedTask);
+        long changeSeq = taskChangeLog.next();
+        task.setChangeSeq(changeSeq);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskChangeLog.taskReassigned(taskId, task.getProject().getOwner().getId(), previousAssigneeId, userId,
+                changeSeq);
+        taskCountCache.taskReassigned(previousAssigneeId, userId);
+        taskSearchIndex.taskSaved(updatedTask);
+        taskDueDates.taskSaved(updatedTask);
+
+        TaskResponse response = taskMapper.toResponse(updatedTask);
+        publish(TaskEventType.ASSIGNED, updatedTask, response);
+        return response;
     }
 
     @Override
-    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional
+    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status, Long expectedVersion,
+                                         CurrentUser currentUser) {
         Task task = findEntityById(taskId);
 
         if (task.getAssignedUser() == null ||
-                !task.getAssignedUser().getId().equals(user.getId())) {
+                !task.getAssignedUser().getId().equals(currentUser.getId())) {
             throw new UnauthorizedException("Only assigned user can update task status");
         }
+        checkVersion(task, expectedVersion);
 
+        TaskStatus previousStatus = task.getStatus();
         task.setStatus(status);
-        Task updatedTask = taskRepository.save(task);
+        task.setChangeSeq(taskChangeLog.next());
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskStatistics.taskChanged(task.getProject().getId(), previousStatus, task.getPriority(),
+                status, task.getPriority());
+        taskDueDates.taskSaved(updatedTask);
+
+        TaskResponse response = taskMapper.toResponse(updatedTask);
+        publish(TaskEventType.STATUS_CHANGED, updatedTask, response);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public TaskBulkResponse updateTasks(TaskBulkUpdateRequest request, CurrentUser currentUser) {
+        if (request.getStatus() == null && request.getPriority() == null) {
+            throw new BadRequestException("Either status or priority is required");
+        }
+        if ((request.getTaskIds() == null) == (request.getProjectId() == null)) {
+            throw new BadRequestException("Provide either taskIds or projectId");
+        }
+
+        List<Long> taskIds = request.getTaskIds();
+        if (taskIds == null) {
+            taskIds = findIdsForBulkUpdate(request.getProjectId(), request.getFilter(), currentUser);
+        }
 
-        return taskMapper.toResponse(updatedTask);
+        // Users may only move their own tasks through the workflow, as with updateTask.
+        boolean statusOnly = request.getPriority() == null;
+        return applyBulk(taskIds, currentUser,
+                access -> statusOnly && currentUser.getId().equals(access.getAssignedUserId()),
+                allowed -> {
+                    long changeSeq = taskChangeLog.next();
+                    int updated = taskRepository.updateStatusAndPriority(ids(allowed), request.getStatus(),
+                            request.getPriority(), changeSeq);
+                    allowed.forEach(access -> taskStatistics.taskChanged(access.getProjectId(),
+                            access.getStatus(), access.getPriority(),
+                            request.getStatus() == null ? access.getStatus() : request.getStatus(),
+                            request.getPriority() == null ? access.getPriority() : request.getPriority()));
+                    if (request.getStatus() != null) {
+                        taskDueDates.tasksSaved(taskRepository.findDeadlinesByIdIn(ids(allowed)));
+                    }
+                    publishBulk(statusOnly ? TaskEventType.STATUS_CHANGED : TaskEventType.UPDATED, allowed,
+                            changeSeq);
+                    return updated;
+                });
     }
 
     @Override
-    public Page<TaskResponse> getTasksByProject(Long projectId, TaskStatus status, Priority priority,
-                                                Pageable pageable, String userEmail) {
-        User user = userService.findByEmail(userEmail);
-        Project project = projectService.findEntityById(projectId);
+    @Transactional
+    public TaskBulkResponse assignTasks(TaskBulkAssignRequest request, CurrentUser currentUser) {
+        if (currentUser.getRole() != Role.MANAGER && currentUser.getRole() != Role.ADMIN) {
+            throw new UnauthorizedException("Only MANAGER and ADMIN can assign tasks");
+        }
 
-        if (user.getRole() != Role.ADMIN &&
-                (user.getRole() != Role.MANAGER || !project.getOwner().getId().equals(user.getId()))) {
-            throw new UnauthorizedException("You don't have permission to view tasks for this project");
+        Long userId = userService.findById(request.getUserId()).getId();
+        return applyBulk(request.getTaskIds(), currentUser, access -> false, allowed -> {
+            long changeSeq = taskChangeLog.next();
+            int updated = taskRepository.updateAssignedUser(ids(allowed), userId, changeSeq);
+            allowed.forEach(access -> taskChangeLog.taskReassigned(access.getId(), access.getProjectOwnerId(),
+                    access.getAssignedUserId(), userId, changeSeq));
+            allowed.forEach(access -> taskCountCache.taskReassigned(access.getAssignedUserId(), userId));
+            taskSearchIndex.tasksReassigned(ids(allowed), userId);
+            taskDueDates.tasksReassigned(ids(allowed), userId);
+            publishBulk(TaskEventType.ASSIGNED, allowed, changeSeq);
+            return updated;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getTasksByProject(Long projectId, TaskFilter filter,
+                                                Pageable pageable, CurrentUser currentUser) {
+        checkCanViewProjectTasks(projectId, currentUser);
+        validateFilter(filter);
+
+        if (filter.isIncludeArchived()) {
+            checkArchiveSort(pageable);
+            return taskRepository.findSummariesIncludingArchivedByProjectId(projectId, filter, pageable)
+                    .map(taskMapper::toResponse);
+        }
+        if (filter.isEmpty()) {
+            Slice<TaskSummary> tasks = taskRepository.findSummarySliceByProjectId(projectId, filter, pageable);
+            return toPage(tasks, taskCountCache.countByProject(projectId));
         }
+        return taskRepository.findSummariesByProjectId(projectId, filter, pageable)
+                .map(taskMapper::toResponse);
+    }
 
-        Page<Task> tasks;
-        if (status != null) {
-            tasks = taskRepository.findTasksByProjectIdAndStatus(projectId, status, pageable);
-        } else if (priority != null) {
-            tasks = taskRepository.findTasksByProjectIdAndPriority(projectId, priority, pageable);
-        } else {
-            tasks = taskRepository.findTasksByProjectId(projectId, pageable);
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getTasksByAssignedUser(Long userId, TaskFilter filter,
+                                                     Pageable pageable, CurrentUser currentUser) {
+        checkCanViewAssignedTasks(userId, currentUser);
+        validateFilter(filter);
+
+        if (filter.isIncludeArchived()) {
+            checkArchiveSort(pageable);
+            return taskRepository.findSummariesIncludingArchivedByAssignedUserId(userId, filter, pageable)
+                    .map(taskMapper::toResponse);
         }
+        if (filter.isEmpty()) {
+            Slice<TaskSummary> tasks = taskRepository.findSummarySliceByAssignedUserId(userId, filter, pageable);
+            return toPage(tasks, taskCountCache.countByAssignedUser(userId));
+        }
+        return taskRepository.findSummariesByAssignedUserId(userId, filter, pageable)
+                .map(taskMapper::toResponse);
+    }
 
-        return tasks.map(taskMapper::toResponse);
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getMyAssignedTasks(TaskFilter filter,
+                                                 Pageable pageable, CurrentUser currentUser) {
+        return getTasksByAssignedUser(currentUser.getId(), filter, pageable, currentUser);
     }
 
     @Override
-    public Page<TaskResponse> getTasksByAssignedUser(Long userId, TaskStatus status, Priority priority,
-                                                     Pageable pageable, String userEmail) {
-        User user = userService.findByEmail(userEmail);
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> getTaskSliceByProject(Long projectId, TaskFilter filter,
+                                                     Pageable pageable, CurrentUser currentUser) {
+        checkCanViewProjectTasks(projectId, currentUser);
+        validateFilter(filter);
+
+        if (filter.isIncludeArchived()) {
+            checkArchiveSort(pageable);
+            return taskRepository.findSummarySliceIncludingArchivedByProjectId(projectId, filter, pageable)
+                    .map(taskMapper::toResponse);
+        }
+        return taskRepository.findSummarySliceByProjectId(projectId, filter, pageable)
+                .map(taskMapper::toResponse);
+    }
 
-        if (user.getRole() != Role.ADMIN && !user.getId().equals(userId)) {
-            throw new UnauthorizedException("You can only view your own assigned tasks");
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> getTaskSliceByAssignedUser(Long userId, TaskFilter filter,
+                                                          Pageable pageable, CurrentUser currentUser) {
+        checkCanViewAssignedTasks(userId, currentUser);
+        validateFilter(filter);
+
+        if (filter.isIncludeArchived()) {
+            checkArchiveSort(pageable);
+            return taskRepository.findSummarySliceIncludingArchivedByAssignedUserId(userId, filter, pageable)
+                    .map(taskMapper::toResponse);
         }
+        return taskRepository.findSummarySliceByAssignedUserId(userId, filter, pageable)
+                .map(taskMapper::toResponse);
+    }
 
-        Page<Task> tasks;
-        if (status != null) {
-            tasks = taskRepository.findTasksByAssignedUserIdAndStatus(userId, status, pageable);
-        } else if (priority != null) {
-            tasks = taskRepository.findTasksByAssignedUserIdAndPriority(userId, priority, pageable);
-        } else {
-            tasks = taskRepository.findTasksByAssignedUserId(userId, pageable);
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> getMyAssignedTaskSlice(TaskFilter filter,
+                                                      Pageable pageable, CurrentUser currentUser) {
+        return getTaskSliceByAssignedUser(currentUser.getId(), filter, pageable, currentUser);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> scrollTasksByProject(Long projectId, TaskFilter filter, String cursor,
+                                                                 Pageable pageable, CurrentUser currentUser) {
+        checkCanViewProjectTasks(projectId, currentUser);
+        validateFilter(filter);
+        checkNotArchived(filter, "cursor pagination");
+
+        TaskCursor position = toCursor(cursor, pageable);
+        Slice<TaskSummary> tasks = taskRepository.scrollSummariesByProjectId(projectId, filter, position,
+                pageable.getPageSize());
+        return toCursorPage(tasks, position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> scrollTasksByAssignedUser(Long userId, TaskFilter filter, String cursor,
+                                                                      Pageable pageable, CurrentUser currentUser) {
+        checkCanViewAssignedTasks(userId, currentUser);
+        validateFilter(filter);
+        checkNotArchived(filter, "cursor pagination");
+
+        TaskCursor position = toCursor(cursor, pageable);
+        Slice<TaskSummary> tasks = taskRepository.scrollSummariesByAssignedUserId(userId, filter, position,
+                pageable.getPageSize());
+        return toCursorPage(tasks, position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> scrollMyAssignedTasks(TaskFilter filter, String cursor,
+                                                                  Pageable pageable, CurrentUser currentUser) {
+        return scrollTasksByAssignedUser(currentUser.getId(), filter, cursor, pageable, currentUser);
+    }
+
+    // The index picks and ranks the ids; only the requested page is read from the database, and each row
+    // is checked again so a stale index entry can neither show a deleted task nor widen access.
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> searchTasks(String query, Pageable pageable, CurrentUser currentUser) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
         }
 
-        return tasks.map(taskMapper::toResponse);
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        List<Long> ids = taskSearchIndex.search(query, currentUser, (int) page.getOffset(), page.getPageSize() + 1);
+        return toSlice(ids, page, currentUser, task -> true);
+    }
+
+    // Answered from the in-memory due dates, oldest first; the page is re-checked like search results.
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> getOverdueTasks(Pageable pageable, CurrentUser currentUser) {
+        LocalDate today = LocalDate.now();
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        List<Long> ids = taskDueDates.overdue(currentUser, today, (int) page.getOffset(), page.getPageSize() + 1);
+        return toSlice(ids, page, currentUser, task -> task.getStatus() != TaskStatus.DONE &&
+                task.getDueDate() != null && task.getDueDate().isBefore(today));
     }
 
+    // Delta sync: tasks written and tombstones recorded after the cursor, merged in change order and cut
+    // at the stable mark. Runs on the primary, because a lagging replica could be missing a write below
+    // the stable mark that the returned cursor would then skip for good.
     @Override
-    public Page<TaskResponse> getMyAssignedTasks(TaskStatus status, Priority priority,
-                                                 Pageable pageable, String userEmail) {
-        User user = userService.findByEmail(userEmail);
-        return getTasksByAssignedUser(user.getId(), status, priority, pageable, userEmail);
+    @Transactional
+    public CursorPageResponse<TaskChangeResponse> getTaskChanges(String since, Pageable pageable,
+                                                                CurrentUser currentUser) {
+        Instant now = Instant.now();
+        TaskChangeCursor position = toChangeCursor(since, now);
+        if (taskChangeLog.isExpired(position.getIssuedAt())) {
+            throw new GoneException("Cursor has expired; sync again without since");
+        }
+
+        long upTo = taskChangeLog.stable();
+        Limit limit = Limit.of(pageable.getPageSize() + 1);
+        List<TaskChange> written;
+        List<TaskChange> removed;
+        if (currentUser.getRole() == Role.ADMIN) {
+            written = taskRepository.findChangesAfter(position.getChangeSeq(), position.getTaskId(), upTo, limit);
+            removed = taskTombstoneRepository.findChangesAfter(position.getChangeSeq(), position.getTaskId(), upTo,
+                    limit);
+        } else {
+            written = taskRepository.findChangesForUserAfter(currentUser.getId(), position.getChangeSeq(),
+                    position.getTaskId(), upTo, limit);
+            removed = taskTombstoneRepository.findChangesForUserAfter(currentUser.getId(), position.getChangeSeq(),
+                    position.getTaskId(), upTo, limit);
+        }
+
+        List<TaskChange> changes = Stream.concat(written.stream(), removed.stream())
+                .sorted(Comparator.comparing(TaskChange::getChangeSeq).thenComparing(TaskChange::getTaskId))
+                .limit(pageable.getPageSize() + 1)
+                .collect(Collectors.toList());
+        boolean hasNext = changes.size() > pageable.getPageSize();
+        if (hasNext) {
+            changes = changes.subList(0, pageable.getPageSize());
+        }
+
+        List<Long> writtenIds = changes.stream()
+                .filter(change -> !change.isDeleted())
+                .map(TaskChange::getTaskId)
+                .collect(Collectors.toList());
+        Map<Long, TaskSummary> tasksById = writtenIds.isEmpty() ? Map.of() :
+                taskRepository.findSummariesByIdIn(writtenIds).stream()
+                        .collect(Collectors.toMap(TaskSummary::getId, Function.identity()));
+        List<TaskChangeResponse> content = new ArrayList<>(changes.size());
+        for (TaskChange change : changes) {
+            if (change.isDeleted()) {
+                content.add(new TaskChangeResponse(change.getTaskId(), true, null));
+                continue;
+            }
+            // A task deleted or reassigned since it was picked is reported by its own, later change.
+            TaskSummary task = tasksById.get(change.getTaskId());
+            if (task != null && canUserAccessTask(currentUser, task)) {
+                content.add(new TaskChangeResponse(change.getTaskId(), false, taskMapper.toResponse(task)));
+            }
+        }
+
+        // A full page continues the client's pass over the feed; a partial one finishes it as of now.
+        Instant issuedAt = hasNext ? position.getIssuedAt() : now;
+        TaskChangeCursor next = changes.isEmpty() ? position.reissued(issuedAt) :
+                position.after(changes.get(changes.size() - 1), issuedAt);
+        return new CursorPageResponse<>(content, content.size(), hasNext, next.encode());
+    }
+
+    // Reads the page of ids picked by an in-memory view, in that order, dropping rows that no longer match.
+    private Slice<TaskResponse> toSlice(List<Long> ids, Pageable page, CurrentUser currentUser,
+                                        Predicate<TaskSummary> stillMatches) {
+        boolean hasNext = ids.size() > page.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, page.getPageSize());
+        }
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(List.of(), page, false);
+        }
+
+        Map<Long, TaskSummary> tasksById = taskRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskSummary::getId, Function.identity()));
+        List<TaskResponse> content = ids.stream()
+                .map(tasksById::get)
+                .filter(task -> task != null && canUserAccessTask(currentUser, task) && stillMatches.test(task))
+                .map(taskMapper::toResponse)
+                .collect(Collectors.toList());
+        return new SliceImpl<>(content, page, hasNext);
     }
 
+    private List<Long> findIdsForBulkUpdate(Long projectId, TaskFilter filter, CurrentUser currentUser) {
+        if (!canManageProject(projectService.findOwnerId(projectId), currentUser)) {
+            throw new UnauthorizedException("You don't have permission to update tasks for this project");
+        }
+
+        TaskFilter projectFilter = filter == null ? new TaskFilter() : filter;
+        validateFilter(projectFilter);
+        checkNotArchived(projectFilter, "bulk updates");
+
+        List<Long> taskIds = taskRepository.findIdsByProjectId(projectId, projectFilter, MAX_BULK_SIZE + 1);
+        if (taskIds.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("Filter matches more than " + MAX_BULK_SIZE + " tasks");
+        }
+        return taskIds;
+    }
+
+    // Loads ownership for every id in one query, decides each project once, then hands the
+    // permitted rows to a single set-based update.
+    private TaskBulkResponse applyBulk(List<Long> taskIds, CurrentUser currentUser,
+                                       Predicate<TaskAccess> rowPermission,
+                                       ToIntFunction<List<TaskAccess>> update) {
+        Set<Long> distinctIds = new LinkedHashSet<>(taskIds);
+        Map<Long, TaskAccess> accessById = distinctIds.isEmpty() ? Map.of() :
+                taskRepository.findAccessByIdIn(distinctIds).stream()
+                        .collect(Collectors.toMap(TaskAccess::getId, Function.identity()));
+
+        Map<Long, Boolean> projectPermissions = new HashMap<>();
+        List<TaskAccess> allowed = new ArrayList<>();
+        List<TaskBulkResponse.Result> results = new ArrayList<>(distinctIds.size());
+        for (Long taskId : distinctIds) {
+            TaskAccess access = accessById.get(taskId);
+            BulkOutcome outcome;
+            if (access == null) {
+                outcome = BulkOutcome.NOT_FOUND;
+            } else if (projectPermissions.computeIfAbsent(access.getProjectId(),
+                    projectId -> canManageProject(access.getProjectOwnerId(), currentUser))
+                    || rowPermission.test(access)) {
+                allowed.add(access);
+                outcome = BulkOutcome.UPDATED;
+            } else {
+                outcome = BulkOutcome.FORBIDDEN;
+            }
+            results.add(new TaskBulkResponse.Result(taskId, outcome));
+        }
+
+        int updated = allowed.isEmpty() ? 0 : update.applyAsInt(allowed);
+        return new TaskBulkResponse(updated, results);
+    }
+
+    private void publish(TaskEventType type, Task task, TaskResponse response) {
+        publish(new TaskEventResponse(type, task.getProject().getId(), task.getId(), task.getVersion(), response),
+                task.getChangeSeq());
+    }
+
+    // Set-based updates bump each row's version by one and do not read the rows back.
+    private void publishBulk(TaskEventType type, List<TaskAccess> updated, long changeSeq) {
+        updated.forEach(access -> publish(new TaskEventResponse(type, access.getProjectId(), access.getId(),
+                access.getVersion() + 1, null), changeSeq));
+    }
+
+    // Live subscribers get the event after commit; the outbox row commits with the change itself.
+    private void publish(TaskEventResponse event, long changeSeq) {
+        taskEventStream.publish(event);
+        outbox.taskChanged(event, changeSeq);
+    }
+
+    private List<Long> ids(List<TaskAccess> accesses) {
+        return accesses.stream()
+                .map(TaskAccess::getId)
+                .collect(Collectors.toList());
+    }
+
+    private boolean canManageProject(Long ownerId, CurrentUser currentUser) {
+        return currentUser.getRole() == Role.ADMIN ||
+                (currentUser.getRole() == Role.MANAGER && ownerId.equals(currentUser.getId()));
+    }
+
+    // If-Match precondition; a write racing past this check still fails at flush on the version column.
+    private void checkVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + task.getId() + " is at version " + task.getVersion() +
+                    ", not " + expectedVersion);
+        }
+    }
+
+    private void checkCanCreateTasks(Project project, CurrentUser currentUser) {
+        if (currentUser.getRole() != Role.ADMIN &&
+                (currentUser.getRole() != Role.MANAGER || !project.getOwner().getId().equals(currentUser.getId()))) {
+            throw new UnauthorizedException("You don't have permission to create tasks for this project");
+        }
+    }
+
+    private void checkCanViewProjectTasks(Long projectId, CurrentUser currentUser) {
+        Long ownerId = projectService.findOwnerId(projectId);
+
+        if (currentUser.getRole() != Role.ADMIN &&
+                (currentUser.getRole() != Role.MANAGER || !ownerId.equals(currentUser.getId()))) {
+            throw new UnauthorizedException("You don't have permission to view tasks for this project");
+        }
+    }
+
+    private void checkCanViewAssignedTasks(Long userId, CurrentUser currentUser) {
+        if (currentUser.getRole() != Role.ADMIN && !currentUser.getId().equals(userId)) {
+            throw new UnauthorizedException("You can only view your own assigned tasks");
+        }
+    }
+
+    private void validateFilter(TaskFilter filter) {
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new BadRequestException("dueFrom must not be after dueTo");
+        }
+        if (filter.isUnassigned() && filter.getAssignedUserId() != null) {
+            throw new BadRequestException("unassigned cannot be combined with assignedUserId");
+        }
+    }
+
+    private void checkNotArchived(TaskFilter filter, String operation) {
+        if (filter.isIncludeArchived()) {
+            throw new BadRequestException("includeArchived is not supported for " + operation);
+        }
+    }
+
+    private void checkArchiveSort(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!TaskRepositoryCustom.ARCHIVE_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new BadRequestException("includeArchived listings cannot be sorted by " + order.getProperty());
+            }
+        }
+    }
+
+    private TaskCursor toCursor(String cursor, Pageable pageable) {
+        try {
+            if (cursor == null || cursor.isBlank()) {
+                return TaskCursor.first(pageable.getSort());
+            }
+            return TaskCursor.decode(cursor);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + e.getMessage());
+        }
+    }
+
+    private TaskChangeCursor toChangeCursor(String since, Instant now) {
+        try {
+            if (since == null || since.isBlank()) {
+                return TaskChangeCursor.first(now);
+            }
+            return TaskChangeCursor.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + e.getMessage());
+        }
+    }
+
+    private Page<TaskResponse> toPage(Slice<TaskSummary> tasks, long total) {
+        List<TaskResponse> content = tasks.map(taskMapper::toResponse).getContent();
+        return new PageImpl<>(content, tasks.getPageable(), total);
+    }
+
+    private CursorPageResponse<TaskResponse> toCursorPage(Slice<TaskSummary> tasks, TaskCursor position) {
+        List<TaskResponse> content = tasks.map(taskMapper::toResponse).getContent();
+        String nextCursor = null;
+        if (tasks.hasNext()) {
+            TaskSummary last = tasks.getContent().get(tasks.getNumberOfElements() - 1);
+            nextCursor = position.after(last).encode();
+        }
+
+        return new CursorPageResponse<>(content, content.size(), tasks.hasNext(), nextCursor);
+    }
+
+    private Long assigneeIdOf(Task task) {
+        return task.getAssignedUser() == null ? null : task.getAssignedUser().getId();
+    }
 
     private Task findEntityById(Long taskId) {
         return taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
     }
 
-    private boolean canUserAccessTask(User user, Task task) {
-        if (user.getRole() == Role.ADMIN) {
+    private boolean canUserAccessTask(CurrentUser currentUser, Task task) {
+        if (currentUser.getRole() == Role.ADMIN) {
             return true;
         }
 
-        if (task.getProject().getOwner().getId().equals(user.getId())) {
+        if (task.getProject().getOwner().getId().equals(currentUser.getId())) {
             return true;
         }
 
-        if (task.getAssignedUser() != null && task.getAssignedUser().getId().equals(user.getId())) {
+        if (task.getAssignedUser() != null && task.getAssignedUser().getId().equals(currentUser.getId())) {
             return true;
         }
 
         return false;
     }
+
+    private boolean canUserAccessTask(CurrentUser currentUser, TaskSummary task) {
+        return currentUser.getRole() == Role.ADMIN ||
+                task.getProject().getOwner().getId().equals(currentUser.getId()) ||
+                (task.getAssignedUser() != null && task.getAssignedUser().getId().equals(currentUser.getId()));
+    }
 }
\ No newline at end of file
@@ -7,12 +7,16 @@ import naneishvili.aleksandre.tasktrackerapi.exception.BadRequestException;
 import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.UserMapper;
 import naneishvili.aleksandre.tasktrackerapi.repository.UserRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.PasswordHasher;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +29,11 @@ public class UserServiceImpl implements UserService {
     private UserMapper userMapper;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
+    // Deliberately not transactional: the existence check and the save each run in their own short
+    // transaction, so no connection is held while the password is hashed. The unique email column still
+    // rejects a duplicate registered in between.
     @Override
     public UserResponse registerUser(UserRegistrationRequest request) {
         if (existsByEmail(request.getEmail())) {
@@ -34,25 +41,48 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = userMapper.toEntity(request);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHasher.encode(request.getPassword()));
 
         User savedUser = userRepository.save(user);
         return userMapper.toResponse(savedUser);
     }
 
+    // Also used outside any service transaction (login, CurrentUser resolution), which only read
+    // the user's own columns.
     @Override
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<User> findAllByIds(Collection<Long> ids) {
+        List<User> users = userRepository.findAllById(ids);
+        if (users.size() < ids.size()) {
+            Set<Long> found = users.stream().map(User::getId).collect(Collectors.toSet());
+            List<Long> missing = ids.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+            throw new ResourceNotFoundException("Users not found with ids: " + missing);
+        }
+        return users;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public User getReferenceById(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll()
                 .stream()
@@ -61,6 +91,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
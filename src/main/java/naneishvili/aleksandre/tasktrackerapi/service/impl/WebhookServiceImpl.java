@@ -0,0 +1,125 @@
+package naneishvili.aleksandre.tasktrackerapi.service.impl;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.request.WebhookCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookDeadLetterResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookResponse;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.exception.BadRequestException;
+import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
+import naneishvili.aleksandre.tasktrackerapi.exception.UnauthorizedException;
+import naneishvili.aleksandre.tasktrackerapi.mapper.WebhookMapper;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeadLetterRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.ProjectService;
+import naneishvili.aleksandre.tasktrackerapi.service.WebhookService;
+import naneishvili.aleksandre.tasktrackerapi.service.WebhookUrlPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Webhooks belong to a project and are managed by whoever may manage the project. Deliveries are queued
+// by WebhookOutboxSink and sent by WebhookDispatcher; nothing here talks to an endpoint.
+@Service
+public class WebhookServiceImpl implements WebhookService {
+
+    private static final SecureRandom SECRET_RANDOM = new SecureRandom();
+
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Autowired
+    private WebhookMapper webhookMapper;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private WebhookUrlPolicy webhookUrlPolicy;
+
+    @Override
+    @Transactional
+    public WebhookResponse createWebhook(Long projectId, WebhookCreateRequest request, CurrentUser currentUser) {
+        checkAccess(projectId, currentUser);
+        String violation = webhookUrlPolicy.violation(request.getUrl());
+        if (violation != null) {
+            throw new BadRequestException(violation);
+        }
+
+        WebhookSubscription subscription = new WebhookSubscription();
+        subscription.setProjectId(projectId);
+        subscription.setUrl(request.getUrl());
+        subscription.setSecret(newSecret());
+        WebhookSubscription saved = webhookSubscriptionRepository.save(subscription);
+
+        // The only time the secret leaves the server; the receiver keeps it to verify signatures.
+        WebhookResponse response = webhookMapper.toResponse(saved);
+        response.setSecret(saved.getSecret());
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WebhookResponse> getWebhooks(Long projectId, CurrentUser currentUser) {
+        checkAccess(projectId, currentUser);
+
+        return webhookSubscriptionRepository.findByProjectIdOrderById(projectId)
+                .stream()
+                .map(webhookMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    // Undelivered events go with the webhook; its dead letters stay until the project is deleted.
+    @Override
+    @Transactional
+    public void deleteWebhook(Long projectId, Long webhookId, CurrentUser currentUser) {
+        checkAccess(projectId, currentUser);
+
+        WebhookSubscription subscription = webhookSubscriptionRepository.findByIdAndProjectId(webhookId, projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook not found with id: " + webhookId));
+        webhookDeliveryRepository.deleteBySubscriptionId(webhookId);
+        webhookSubscriptionRepository.delete(subscription);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<WebhookDeadLetterResponse> getDeadLetters(Long projectId, Pageable pageable,
+                                                           CurrentUser currentUser) {
+        checkAccess(projectId, currentUser);
+
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return webhookDeadLetterRepository.findByProjectIdOrderByIdDesc(projectId, page)
+                .map(webhookMapper::toResponse);
+    }
+
+    private static String newSecret() {
+        byte[] secret = new byte[32];
+        SECRET_RANDOM.nextBytes(secret);
+        return HexFormat.of().formatHex(secret);
+    }
+
+    private void checkAccess(Long projectId, CurrentUser currentUser) {
+        Long ownerId = projectService.findOwnerId(projectId);
+
+        if (currentUser.getRole() != Role.ADMIN &&
+                (currentUser.getRole() != Role.MANAGER || !ownerId.equals(currentUser.getId()))) {
+            throw new UnauthorizedException("You don't have permission to manage webhooks for this project");
+        }
+    }
+}
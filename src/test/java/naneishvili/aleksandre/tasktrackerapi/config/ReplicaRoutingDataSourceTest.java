@@ -0,0 +1,99 @@
+package naneishvili.aleksandre.tasktrackerapi.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(h2("primary"), h2("replica"),
+                Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_NoRecentWrite_UsesReplica() {
+        signIn("user1@test.com");
+
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("REPLICA");
+    }
+
+    @Test
+    void writeTransaction_UsesPrimary() {
+        signIn("user1@test.com");
+
+        assertThat(databaseIn(writeTransaction)).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnCommittedWrite_UsesPrimary() {
+        signIn("user1@test.com");
+        writeTransaction.executeWithoutResult(status -> database());
+
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("PRIMARY");
+
+        signIn("user2@test.com");
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("REPLICA");
+    }
+
+    @Test
+    void readOnlyTransaction_AfterRolledBackWrite_UsesReplica() {
+        signIn("user1@test.com");
+        writeTransaction.executeWithoutResult(status -> {
+            database();
+            status.setRollbackOnly();
+        });
+
+        assertThat(databaseIn(readOnlyTransaction)).isEqualTo("REPLICA");
+    }
+
+    private String databaseIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
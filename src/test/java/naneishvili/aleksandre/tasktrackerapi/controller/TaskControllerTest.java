@@ -0,0 +1,134 @@
+package naneishvili.aleksandre.tasktrackerapi.controller;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskPatchRequest;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.exception.GlobalExceptionHandler;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Exercises the merge-patch body binding and validation; the service itself is mocked.
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    private MockMvc mockMvc;
+
+    private final CurrentUser currentUser = new CurrentUser(1L, "admin@example.com", Role.ADMIN);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new FixedCurrentUserResolver())
+                .build();
+    }
+
+    @Test
+    void patchTask_NullTitle_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/tasks/1").contentType(MERGE_PATCH).content("{\"title\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value(containsString("Task title is required")));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void patchTask_NullStatus_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/tasks/1").contentType(MERGE_PATCH).content("{\"status\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value(containsString("Task status is required")));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void patchTask_NullPriority_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(patch("/tasks/1").contentType(MERGE_PATCH).content("{\"priority\": null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details[0]").value(containsString("Task priority is required")));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void patchTask_NullDescriptionAndDueDate_ClearsThem() throws Exception {
+        when(taskService.patchTask(eq(1L), any(TaskPatchRequest.class), isNull(), eq(currentUser))).thenReturn(4L);
+
+        mockMvc.perform(patch("/tasks/1").contentType(MERGE_PATCH)
+                        .content("{\"description\": null, \"dueDate\": null}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+
+        ArgumentCaptor<TaskPatchRequest> captor = ArgumentCaptor.forClass(TaskPatchRequest.class);
+        verify(taskService).patchTask(eq(1L), captor.capture(), isNull(), eq(currentUser));
+        assertThat(captor.getValue().getDescription()).isEmpty();
+        assertThat(captor.getValue().getDueDate()).isEmpty();
+        assertThat(captor.getValue().getTitle()).isNull();
+        assertThat(captor.getValue().getStatus()).isNull();
+        assertThat(captor.getValue().getPriority()).isNull();
+    }
+
+    @Test
+    void patchTask_DueDateSet_PassesItThrough() throws Exception {
+        when(taskService.patchTask(eq(1L), any(TaskPatchRequest.class), isNull(), eq(currentUser))).thenReturn(4L);
+
+        mockMvc.perform(patch("/tasks/1").contentType(MERGE_PATCH).content("{\"dueDate\": \"2030-01-31\"}"))
+                .andExpect(status().isNoContent());
+
+        ArgumentCaptor<TaskPatchRequest> captor = ArgumentCaptor.forClass(TaskPatchRequest.class);
+        verify(taskService).patchTask(eq(1L), captor.capture(), isNull(), eq(currentUser));
+        assertThat(captor.getValue().getDueDate()).isEqualTo(Optional.of(LocalDate.of(2030, 1, 31)));
+        assertThat(captor.getValue().getDescription()).isNull();
+    }
+
+    private class FixedCurrentUserResolver implements HandlerMethodArgumentResolver {
+
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return CurrentUser.class.equals(parameter.getParameterType());
+        }
+
+        @Override
+        public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                      NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+            return currentUser;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import naneishvili.aleksandre.tasktrackerapi.config.EntityCacheConfig;
+import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.security.TokenRevocationRegistry;
+import naneishvili.aleksandre.tasktrackerapi.security.UserChangeListener;
+import naneishvili.aleksandre.tasktrackerapi.security.VerifiedTokenCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs without the test transaction: Hibernate only publishes READ_WRITE cache entries once a write commits.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EntityCacheConfig.class, UserChangeListener.class, VerifiedTokenCache.class,
+        TokenRevocationRegistry.class, EntityCacheTest.MetricsConfig.class})
+class EntityCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private Project project;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setEmail("owner@example.com");
+        owner.setPassword("encodedPassword");
+        owner.setRole(Role.MANAGER);
+        userRepository.save(owner);
+
+        project = new Project();
+        project.setName("Cached project");
+        project.setOwner(owner);
+        projectRepository.save(project);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_RepeatedLookups_ServedFromCache() {
+        userRepository.findById(owner.getId());
+        projectRepository.findById(project.getId());
+        statistics.clear();
+
+        assertThat(userRepository.findById(owner.getId())).isPresent();
+        assertThat(projectRepository.findById(project.getId())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void findByEmail_RepeatedLookups_ResolveThroughNaturalIdCache() {
+        userRepository.findByEmail("owner@example.com");
+        statistics.clear();
+
+        assertThat(userRepository.findByEmail("owner@example.com")).get()
+                .extracting(User::getId).isEqualTo(owner.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByEmail_UnknownEmail_ReturnsEmpty() {
+        assertThat(userRepository.findByEmail("missing@example.com")).isEmpty();
+    }
+
+    @Test
+    void save_UpdatedProject_RefreshesCachedCopy() {
+        Project loaded = projectRepository.findById(project.getId()).orElseThrow();
+        loaded.setName("Renamed");
+        projectRepository.save(loaded);
+
+        assertThat(projectRepository.findById(project.getId())).get()
+                .extracting(Project::getName).isEqualTo("Renamed");
+    }
+
+    @Test
+    void save_StaleProjectCopy_ThrowsOptimisticLockingFailure() {
+        Project first = projectRepository.findById(project.getId()).orElseThrow();
+        Project second = projectRepository.findById(project.getId()).orElseThrow();
+
+        first.setName("First writer");
+        assertThat(projectRepository.save(first).getVersion()).isEqualTo(1L);
+
+        second.setName("Second writer");
+        assertThatThrownBy(() -> projectRepository.save(second))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void deleteProjectById_BulkDelete_EvictsCachedProject() {
+        projectRepository.findById(project.getId());
+
+        transactionTemplate.executeWithoutResult(status -> projectRepository.deleteProjectById(project.getId(), 0L));
+
+        assertThat(projectRepository.findById(project.getId())).isEmpty();
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
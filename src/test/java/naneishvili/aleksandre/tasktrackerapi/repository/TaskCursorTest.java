@@ -0,0 +1,46 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskCursorTest {
+
+    @Test
+    void after_EncodedAndDecoded_KeepsSortKeyAndId() {
+        LocalDateTime createDate = LocalDateTime.of(2026, 3, 4, 5, 6, 7, 8000);
+        TaskSummary last = new TaskSummary(42L, "Title: with colons", null, TaskStatus.TODO, null,
+                Priority.MEDIUM, createDate, null, 0L,
+                1L, "Project", null, null, null, 0L,
+                2L, "owner@example.com", Role.MANAGER, null, null,
+                null, null, null, null, null);
+
+        TaskCursor cursor = TaskCursor.decode(TaskCursor.first(Sort.by("createDate").descending()).after(last).encode());
+
+        assertThat(cursor.getProperty()).isEqualTo("createDate");
+        assertThat(cursor.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(cursor.getValue()).isEqualTo(createDate);
+        assertThat(cursor.getId()).isEqualTo(42L);
+        assertThat(cursor.isFirst()).isFalse();
+    }
+
+    @Test
+    void first_UnsupportedSortProperty_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> TaskCursor.first(Sort.by("description")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_Garbage_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> TaskCursor.decode("bm90LWEtY3Vyc29y"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,414 @@
+package naneishvili.aleksandre.tasktrackerapi.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskResponse;
+import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.entity.Task;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.mapper.ProjectMapperImpl;
+import naneishvili.aleksandre.tasktrackerapi.mapper.TaskMapper;
+import naneishvili.aleksandre.tasktrackerapi.mapper.TaskMapperImpl;
+import naneishvili.aleksandre.tasktrackerapi.mapper.UserMapperImpl;
+import naneishvili.aleksandre.tasktrackerapi.security.TokenRevocationRegistry;
+import naneishvili.aleksandre.tasktrackerapi.security.UserChangeListener;
+import naneishvili.aleksandre.tasktrackerapi.security.VerifiedTokenCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TaskMapperImpl.class, ProjectMapperImpl.class, UserMapperImpl.class,
+        UserChangeListener.class, VerifiedTokenCache.class, TokenRevocationRegistry.class,
+        TaskRepositoryTest.MetricsConfig.class})
+class TaskRepositoryTest {
+
+    private static final int TASK_COUNT = 150;
+    private static final int ASSIGNEE_COUNT = 25;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Project project;
+    private User assignee;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("owner@example.com", Role.MANAGER);
+
+        project = new Project();
+        project.setName("Big project");
+        project.setOwner(owner);
+        entityManager.persist(project);
+
+        List<User> assignees = new ArrayList<>();
+        for (int i = 0; i < ASSIGNEE_COUNT; i++) {
+            assignees.add(persistUser("user" + i + "@example.com", Role.USER));
+        }
+        assignee = assignees.get(0);
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(i % 2 == 0 ? TaskStatus.TODO : TaskStatus.IN_PROGRESS);
+            task.setProject(project);
+            task.setAssignedUser(assignees.get(i % ASSIGNEE_COUNT));
+            task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i));
+            entityManager.persist(task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findSummariesByProjectId_PageOfHundred_LoadsInConstantStatements() {
+        Page<TaskSummary> page = taskRepository.findSummariesByProjectId(project.getId(), new TaskFilter(),
+                PageRequest.of(0, 100));
+        List<TaskResponse> responses = page.map(taskMapper::toResponse).getContent();
+
+        assertThat(responses).hasSize(100);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getVersion()).isZero();
+            assertThat(response.getProject().getVersion()).isZero();
+            assertThat(response.getProject().getOwner().getEmail()).isEqualTo("owner@example.com");
+            assertThat(response.getAssignedUser().getEmail()).isNotNull();
+        });
+        assertThat(page.getTotalElements()).isEqualTo(TASK_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummarySliceByProjectId_StatusFilter_LoadsInOneStatement() {
+        Slice<TaskSummary> slice = taskRepository.findSummarySliceByProjectId(project.getId(),
+                filter(TaskStatus.TODO), PageRequest.of(0, 50));
+        slice.map(taskMapper::toResponse);
+
+        assertThat(slice.getContent()).hasSize(50);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummarySliceByAssignedUserId_PageOfTasks_LoadsInOneStatement() {
+        Slice<TaskSummary> slice = taskRepository.findSummarySliceByAssignedUserId(assignee.getId(), new TaskFilter(),
+                PageRequest.of(0, 100));
+        slice.map(taskMapper::toResponse);
+
+        assertThat(slice.getContent()).hasSize(TASK_COUNT / ASSIGNEE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByOwnerId_ProjectsWithOwner_LoadsInOneStatement() {
+        List<ProjectSummary> projects = projectRepository.findSummariesByOwnerId(project.getOwner().getId());
+
+        assertThat(projects).extracting(p -> p.getOwner().getEmail()).containsExactly("owner@example.com");
+        assertThat(projects).extracting(ProjectSummary::getVersion).containsExactly(0L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByProjectId_SortedPage_SelectsDtosInConstantStatements() {
+        Pageable pageable = PageRequest.of(0, 40, Sort.by("title").descending());
+
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(EnumSet.of(TaskStatus.TODO));
+
+        Page<TaskSummary> page = taskRepository.findSummariesByProjectId(project.getId(), filter, pageable);
+        List<TaskResponse> responses = page.map(taskMapper::toResponse).getContent();
+
+        assertThat(responses).hasSize(40);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getStatus()).isEqualTo(TaskStatus.TODO);
+            assertThat(response.getProject().getName()).isEqualTo("Big project");
+            assertThat(response.getProject().getOwner().getEmail()).isEqualTo("owner@example.com");
+            assertThat(response.getAssignedUser().getEmail()).endsWith("@example.com");
+        });
+        assertThat(page.getTotalElements()).isEqualTo(TASK_COUNT / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByAssignedUserId_LastPage_SkipsCountQuery() {
+        Page<TaskSummary> page = taskRepository.findSummariesByAssignedUserId(assignee.getId(), new TaskFilter(),
+                PageRequest.of(0, 100));
+
+        assertThat(page.getContent()).hasSize(TASK_COUNT / ASSIGNEE_COUNT);
+        assertThat(page.getContent()).allSatisfy(summary ->
+                assertThat(summary.getAssignedUser().getId()).isEqualTo(assignee.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findSummariesByProjectId_CombinedFilter_AppliesEveryCriterion() {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(EnumSet.of(TaskStatus.TODO, TaskStatus.DONE));
+        filter.setPriority(EnumSet.of(Priority.MEDIUM, Priority.HIGH));
+        filter.setAssignedUserId(assignee.getId());
+        filter.setDueFrom(LocalDate.of(2026, 1, 1));
+        filter.setDueTo(LocalDate.of(2026, 12, 31));
+
+        Page<TaskSummary> page = taskRepository.findSummariesByProjectId(project.getId(), filter, PageRequest.of(0, 100));
+
+        assertThat(page.getContent()).hasSize(TASK_COUNT / ASSIGNEE_COUNT / 2);
+        assertThat(page.getContent()).allSatisfy(summary -> {
+            assertThat(summary.getStatus()).isEqualTo(TaskStatus.TODO);
+            assertThat(summary.getAssignedUser().getId()).isEqualTo(assignee.getId());
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findSummariesByProjectId_UnassignedOnly_ReturnsTasksWithoutAssignee() {
+        TaskFilter filter = new TaskFilter();
+        filter.setUnassigned(true);
+
+        Page<TaskSummary> page = taskRepository.findSummariesByProjectId(project.getId(), filter, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isZero();
+    }
+
+    @Test
+    void scrollSummariesByProjectId_TitleDescending_VisitsEveryTaskOnceWithoutCounting() {
+        TaskCursor cursor = TaskCursor.first(Sort.by("title").descending());
+        Set<Long> seen = new HashSet<>();
+        String previousTitle = null;
+        int pages = 0;
+
+        Slice<TaskSummary> slice;
+        do {
+            slice = taskRepository.scrollSummariesByProjectId(project.getId(), new TaskFilter(), cursor, 40);
+            for (TaskSummary summary : slice.getContent()) {
+                assertThat(seen.add(summary.getId())).isTrue();
+                if (previousTitle != null) {
+                    assertThat(summary.getTitle()).isLessThanOrEqualTo(previousTitle);
+                }
+                previousTitle = summary.getTitle();
+            }
+            if (slice.hasNext()) {
+                cursor = cursor.after(slice.getContent().get(slice.getNumberOfElements() - 1));
+            }
+            pages++;
+        } while (slice.hasNext());
+
+        assertThat(seen).hasSize(TASK_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @Test
+    void saveAllAndFlush_NewTasks_InsertsInJdbcBatches() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task();
+            task.setTitle("Bulk " + i);
+            task.setProject(entityManager.getEntityManager().getReference(Project.class, project.getId()));
+            tasks.add(task);
+        }
+
+        taskRepository.saveAllAndFlush(tasks);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(200);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void updateStatusAndPriority_ManyTasks_IssuesSingleStatement() {
+        List<Long> ids = taskRepository.findIdsByProjectId(project.getId(), filter(TaskStatus.TODO), 1000);
+        statistics.clear();
+
+        int updated = taskRepository.updateStatusAndPriority(ids, TaskStatus.DONE, Priority.HIGH, 5L);
+
+        assertThat(updated).isEqualTo(TASK_COUNT / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        entityManager.clear();
+        assertThat(taskRepository.findById(ids.get(0))).get().extracting(Task::getVersion).isEqualTo(1L);
+        assertThat(taskRepository.findIdsByProjectId(project.getId(), filter(TaskStatus.DONE), 1000))
+                .containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void findAccessByIdIn_AssignedAndMissingIds_ReturnsOwnershipInOneStatement() {
+        List<Long> ids = taskRepository.findIdsByProjectId(project.getId(), new TaskFilter(), 3);
+        statistics.clear();
+
+        List<TaskAccess> access = taskRepository.findAccessByIdIn(List.of(ids.get(0), ids.get(1), -1L));
+
+        assertThat(access).hasSize(2)
+                .allSatisfy(row -> assertThat(row.getProjectOwnerId()).isEqualTo(project.getOwner().getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countGroupedByProjectStatusAndPriority_WholeTable_CountsEachCombinationInOneStatement() {
+        List<TaskCount> counts = taskRepository.countGroupedByProjectStatusAndPriority();
+
+        assertThat(counts)
+                .extracting(TaskCount::getProjectId, TaskCount::getStatus, TaskCount::getPriority, TaskCount::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(project.getId(), TaskStatus.TODO, Priority.MEDIUM, (long) TASK_COUNT / 2),
+                        tuple(project.getId(), TaskStatus.IN_PROGRESS, Priority.MEDIUM, (long) TASK_COUNT / 2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findOpenDeadlines_KeysetBatches_ReadEveryOpenTaskInDueDateOrder() {
+        List<TaskDeadline> deadlines = new ArrayList<>(
+                taskRepository.findOpenDeadlines(TaskStatus.DONE, Limit.of(100)));
+        TaskDeadline last = deadlines.get(deadlines.size() - 1);
+        deadlines.addAll(taskRepository.findOpenDeadlinesAfter(TaskStatus.DONE, last.getDueDate(), last.getId(),
+                Limit.of(100)));
+
+        assertThat(deadlines).hasSize(TASK_COUNT);
+        assertThat(deadlines).extracting(TaskDeadline::getDueDate).isSorted().doesNotHaveDuplicates();
+        assertThat(deadlines).allMatch(deadline -> deadline.getProjectOwnerId().equals(project.getOwner().getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateAttributes_PatchedColumns_WritesThemInOneStatementGuardedByVersion() {
+        Long id = taskRepository.findIdsByProjectId(project.getId(), new TaskFilter(), 1).get(0);
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("priority", Priority.HIGH);
+        changes.put("assignedUser", null);
+        statistics.clear();
+
+        int updated = taskRepository.updateAttributes(id, 0L, changes);
+        int stale = taskRepository.updateAttributes(id, 0L, Map.of("priority", Priority.LOW));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        entityManager.clear();
+        Task task = taskRepository.findById(id).orElseThrow();
+        assertThat(task.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(task.getAssignedUser()).isNull();
+        assertThat(task.getTitle()).isEqualTo("Task 0");
+        assertThat(task.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void findChangesAfter_WritesAndTombstones_ReadPastTheCursorInChangeOrderUpToTheStableMark() {
+        List<Long> ids = taskRepository.findIdsByProjectId(project.getId(), new TaskFilter(), 1000);
+        // The first assignee has every 25th task: 0, 25, 50, 75, 100 and 125.
+        taskRepository.updateStatusAndPriority(ids.subList(0, 30), TaskStatus.DONE, null, 5L);
+        taskTombstoneRepository.copyFromTasks(ids.subList(50, 51), 6L, LocalDateTime.now());
+        taskRepository.deleteByIdIn(ids.subList(50, 51));
+        taskRepository.updateStatusAndPriority(ids.subList(75, 76), null, Priority.LOW, 8L);
+        statistics.clear();
+
+        List<TaskChange> written = taskRepository.findChangesForUserAfter(assignee.getId(), 0L, ids.get(0), 7L,
+                Limit.of(10));
+        List<TaskChange> removed = taskTombstoneRepository.findChangesForUserAfter(assignee.getId(), 0L, ids.get(0),
+                7L, Limit.of(10));
+        List<TaskChange> writtenForAdmin = taskRepository.findChangesAfter(5L, ids.get(29), 8L, Limit.of(10));
+
+        assertThat(written).extracting(TaskChange::getTaskId, TaskChange::getChangeSeq).containsExactly(
+                tuple(ids.get(100), 0L), tuple(ids.get(125), 0L), tuple(ids.get(0), 5L), tuple(ids.get(25), 5L));
+        assertThat(removed).extracting(TaskChange::getTaskId, TaskChange::getChangeSeq, TaskChange::isDeleted)
+                .containsExactly(tuple(ids.get(50), 6L, true));
+        assertThat(writtenForAdmin).extracting(TaskChange::getTaskId).containsExactly(ids.get(75));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void deleteByIdIn_WholeProject_DeletesWithoutLoadingTasks() {
+        List<Long> ids = taskRepository.findIdsByProjectId(project.getId(), new TaskFilter(), 1000);
+        statistics.clear();
+
+        int deleted = taskRepository.deleteByIdIn(ids);
+        projectRepository.deleteProjectById(project.getId(), 0L);
+
+        assertThat(deleted).isEqualTo(TASK_COUNT);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(projectRepository.findById(project.getId())).isEmpty();
+    }
+
+    private TaskFilter filter(TaskStatus status) {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(EnumSet.of(status));
+        return filter;
+    }
+
+    private User persistUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("encodedPassword");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
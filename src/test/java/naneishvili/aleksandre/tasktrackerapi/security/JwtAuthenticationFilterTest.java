@@ -0,0 +1,117 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "token";
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    private JwtAuthenticationFilter filter;
+
+    private final Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        verifiedTokenCache.init();
+        tokenRevocationRegistry = new TokenRevocationRegistry();
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", verifiedTokenCache);
+        ReflectionTestUtils.setField(filter, "tokenRevocationRegistry", tokenRevocationRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_CacheMiss_LoadsUserAndCachesPrincipal() throws Exception {
+        Claims claims = Jwts.claims().subject("user@example.com").expiration(expiration).build();
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims);
+        when(jwtUtil.extractTokenVersion(claims)).thenReturn(0);
+        when(userDetailsService.loadUserByUsername("user@example.com")).thenReturn(principal(0));
+
+        filter();
+
+        assertThat(authentication()).isNotNull();
+        assertThat(verifiedTokenCache.get(TOKEN)).isNotNull();
+    }
+
+    @Test
+    void doFilter_CacheHit_SkipsVerification() throws Exception {
+        verifiedTokenCache.put(TOKEN, principal(0), expiration);
+
+        filter();
+
+        assertThat(authentication()).isNotNull();
+        verifyNoInteractions(jwtUtil, userDetailsService);
+    }
+
+    @Test
+    void doFilter_PrincipalCachedAfterRevocationAndEviction_IsRejected() throws Exception {
+        // A request checked the old token version, then the role change committed (revoke, then evict),
+        // and only then did that request get to cache its principal.
+        AuthenticatedUser stalePrincipal = principal(0);
+        tokenRevocationRegistry.revokeBelow(1L, 1);
+        verifiedTokenCache.evictUser("user@example.com");
+        verifiedTokenCache.put(TOKEN, stalePrincipal, expiration);
+
+        filter();
+
+        assertThat(authentication()).isNull();
+        verifyNoInteractions(jwtUtil, userDetailsService);
+    }
+
+    private void filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private static Authentication authentication() {
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static AuthenticatedUser principal(int tokenVersion) {
+        return new AuthenticatedUser(1L, "user@example.com", "encodedPassword", Role.USER, tokenVersion);
+    }
+}
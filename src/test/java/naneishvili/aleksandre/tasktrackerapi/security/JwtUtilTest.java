@@ -0,0 +1,52 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import io.jsonwebtoken.Claims;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKey12345678901234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+
+        testUser = new User();
+        testUser.setId(7L);
+        testUser.setEmail("manager@example.com");
+        testUser.setRole(Role.MANAGER);
+        testUser.setTokenVersion(3);
+    }
+
+    @Test
+    void extractAuthenticatedUser_UserToken_ReturnsPrincipalFromClaims() {
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(testUser));
+
+        AuthenticatedUser result = jwtUtil.extractAuthenticatedUser(claims);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getUsername()).isEqualTo("manager@example.com");
+        assertThat(result.getRole()).isEqualTo(Role.MANAGER);
+        assertThat(result.getTokenVersion()).isEqualTo(3);
+        assertThat(result.getAuthorities()).extracting("authority").containsExactly("ROLE_MANAGER");
+    }
+
+    @Test
+    void extractAuthenticatedUser_EmailOnlyToken_ReturnsNull() {
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken("manager@example.com"));
+
+        assertThat(jwtUtil.extractAuthenticatedUser(claims)).isNull();
+        assertThat(jwtUtil.extractTokenVersion(claims)).isNull();
+    }
+}
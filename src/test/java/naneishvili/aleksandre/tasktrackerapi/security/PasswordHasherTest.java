@@ -0,0 +1,90 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        passwordHasher = new PasswordHasher();
+        ReflectionTestUtils.setField(passwordHasher, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(passwordHasher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHasher, "poolSize", 1);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHasher, "timeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(passwordHasher, "retryAfter", Duration.ofSeconds(3));
+        passwordHasher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void matches_DelegatesToPasswordEncoder() {
+        when(passwordEncoder.matches("password", "encoded")).thenReturn(true);
+
+        assertThat(passwordHasher.matches("password", "encoded")).isTrue();
+        assertThat(meterRegistry.find("executor.completed").tag("name", PasswordHasher.EXECUTOR_NAME)
+                .functionCounter()).isNotNull();
+    }
+
+    @Test
+    void encode_PoolAndQueueFull_ThrowsServiceUnavailable() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encoded";
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("slow"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("slow"));
+        waitForQueuedTask();
+
+        assertThatThrownBy(() -> passwordHasher.encode("slow"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 3L);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (meterRegistry.get("executor.queued").tag("name", PasswordHasher.EXECUTOR_NAME).gauge().value() > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
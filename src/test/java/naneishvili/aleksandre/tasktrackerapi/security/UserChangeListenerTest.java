@@ -0,0 +1,135 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.config.EntityCacheConfig;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without the test transaction, so each update really commits or rolls back.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EntityCacheConfig.class, UserChangeListener.class, VerifiedTokenCache.class,
+        TokenRevocationRegistry.class, UserChangeListenerTest.MetricsConfig.class})
+class UserChangeListenerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("user@example.com");
+        user.setPassword("encodedPassword");
+        user.setRole(Role.USER);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void update_RoleChanged_BumpsTokenVersionAndRevokesOlderTokens() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setRole(Role.MANAGER));
+
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getTokenVersion).isEqualTo(1);
+        assertThat(tokenRevocationRegistry.isRevoked(user.getId(), 0)).isTrue();
+        assertThat(tokenRevocationRegistry.isRevoked(user.getId(), 1)).isFalse();
+    }
+
+    @Test
+    void update_PasswordChanged_BumpsTokenVersion() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setPassword("newEncodedPassword"));
+
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getTokenVersion).isEqualTo(1);
+        assertThat(tokenRevocationRegistry.isRevoked(user.getId(), 0)).isTrue();
+    }
+
+    @Test
+    void update_OtherFieldChanged_KeepsIssuedTokens() {
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setUpdateDate(LocalDateTime.now().minusDays(1)));
+
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getTokenVersion).isEqualTo(0);
+        assertThat(tokenRevocationRegistry.isRevoked(user.getId(), 0)).isFalse();
+    }
+
+    @Test
+    void update_RoleChanged_EvictsCachedPrincipals() {
+        cachePrincipal();
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setRole(Role.MANAGER));
+
+        assertThat(verifiedTokenCache.get("token")).isNull();
+    }
+
+    @Test
+    void update_OtherFieldChanged_KeepsCachedPrincipals() {
+        cachePrincipal();
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setUpdateDate(LocalDateTime.now().minusDays(1)));
+
+        assertThat(verifiedTokenCache.get("token")).isNotNull();
+    }
+
+    @Test
+    void update_RolledBack_KeepsIssuedTokens() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.findById(user.getId()).orElseThrow().setRole(Role.ADMIN);
+            userRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getRole, User::getTokenVersion).containsExactly(Role.USER, 0);
+        assertThat(tokenRevocationRegistry.isRevoked(user.getId(), 0)).isFalse();
+    }
+
+    private void cachePrincipal() {
+        verifiedTokenCache.put("token", new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(),
+                user.getRole(), user.getTokenVersion()), new Date(System.currentTimeMillis() + 60_000));
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
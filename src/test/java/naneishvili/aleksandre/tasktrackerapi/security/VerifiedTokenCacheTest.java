@@ -0,0 +1,74 @@
+package naneishvili.aleksandre.tasktrackerapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        verifiedTokenCache.init();
+
+        userDetails = User.withUsername("user@example.com")
+                .password("encodedPassword")
+                .roles("USER")
+                .build();
+    }
+
+    @Test
+    void get_AfterPut_ReturnsPrincipalWithoutCredentials() {
+        verifiedTokenCache.put("token", userDetails, new Date(System.currentTimeMillis() + 60_000));
+
+        UserDetails result = verifiedTokenCache.get("token");
+
+        assertThat(result).isNotNull();
+        assertThat(result.getUsername()).isEqualTo("user@example.com");
+        assertThat(result.getPassword()).isNull();
+        assertThat(verifiedTokenCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_UnknownToken_ReturnsNullAndRecordsMiss() {
+        UserDetails result = verifiedTokenCache.get("unknown");
+
+        assertThat(result).isNull();
+        assertThat(verifiedTokenCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ExpiredToken_ReturnsNull() {
+        verifiedTokenCache.put("token", userDetails, new Date(System.currentTimeMillis() - 1_000));
+
+        assertThat(verifiedTokenCache.get("token")).isNull();
+    }
+
+    @Test
+    void evictUser_RemovesAllTokensOfUser() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        UserDetails otherUser = User.withUsername("other@example.com").password("x").roles("USER").build();
+        verifiedTokenCache.put("token-1", userDetails, expiration);
+        verifiedTokenCache.put("token-2", userDetails, expiration);
+        verifiedTokenCache.put("token-3", otherUser, expiration);
+
+        verifiedTokenCache.evictUser("user@example.com");
+
+        assertThat(verifiedTokenCache.get("token-1")).isNull();
+        assertThat(verifiedTokenCache.get("token-2")).isNull();
+        assertThat(verifiedTokenCache.get("token-3")).isNotNull();
+    }
+}
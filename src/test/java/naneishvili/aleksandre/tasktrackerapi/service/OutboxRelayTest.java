@@ -0,0 +1,130 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import naneishvili.aleksandre.tasktrackerapi.enums.AggregateType;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+import naneishvili.aleksandre.tasktrackerapi.repository.OutboxEventRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.TokenRevocationRegistry;
+import naneishvili.aleksandre.tasktrackerapi.security.UserChangeListener;
+import naneishvili.aleksandre.tasktrackerapi.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({OutboxRelay.class, UserChangeListener.class, VerifiedTokenCache.class, TokenRevocationRegistry.class,
+        OutboxRelayTest.SinkConfig.class})
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @MockBean
+    private TaskChangeLog taskChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        sink.batches.clear();
+        sink.fail = false;
+
+        // Saved out of change order: delivery follows the change numbers, not the insert order.
+        persist(10L, 3L);
+        persist(20L, 1L);
+        persist(10L, 2L);
+        persist(20L, 2L);
+        persist(10L, 5L);
+    }
+
+    @Test
+    void relay_DrainsStableEventsInChangeOrderAndBatches() throws IOException {
+        when(taskChangeLog.stable()).thenReturn(5L);
+
+        assertThat(outboxRelay.relay()).isEqualTo(5);
+
+        assertThat(sink.batches).hasSize(3);
+        assertThat(sink.batches.get(0)).extracting(OutboxEvent::getChangeSeq).containsExactly(1L, 2L);
+        assertThat(sink.batches.get(1)).extracting(OutboxEvent::getChangeSeq).containsExactly(2L, 3L);
+        assertThat(sink.batches.get(2)).extracting(OutboxEvent::getChangeSeq).containsExactly(5L);
+        assertThat(sink.batches.get(1)).extracting(OutboxEvent::getProjectId).containsExactly(20L, 10L);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void relay_HoldsEventsAboveStableChangeNumber() throws IOException {
+        when(taskChangeLog.stable()).thenReturn(3L);
+
+        assertThat(outboxRelay.relay()).isEqualTo(4);
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getChangeSeq).containsExactly(5L);
+    }
+
+    @Test
+    void relay_SinkFails_KeepsEventsForNextRun() throws IOException {
+        when(taskChangeLog.stable()).thenReturn(5L);
+        sink.fail = true;
+
+        assertThatThrownBy(() -> outboxRelay.relay()).isInstanceOf(IOException.class);
+        assertThat(outboxEventRepository.count()).isEqualTo(5);
+
+        sink.fail = false;
+        assertThat(outboxRelay.relay()).isEqualTo(5);
+        assertThat(sink.batches.get(0)).extracting(OutboxEvent::getChangeSeq).containsExactly(1L, 2L);
+    }
+
+    private void persist(Long projectId, long changeSeq) {
+        outboxEventRepository.save(new OutboxEvent(null, AggregateType.TASK, changeSeq, projectId,
+                TaskEventType.UPDATED, "{}", changeSeq, null));
+    }
+
+    static class RecordingSink implements OutboxSink {
+
+        private final List<List<OutboxEvent>> batches = new ArrayList<>();
+
+        private boolean fail;
+
+        @Override
+        public void publish(List<OutboxEvent> events) throws IOException {
+            if (fail) {
+                throw new IOException("Sink unavailable");
+            }
+            batches.add(List.copyOf(events));
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
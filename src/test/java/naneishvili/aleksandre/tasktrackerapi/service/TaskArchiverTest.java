@@ -0,0 +1,177 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.entity.ArchivedTask;
+import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.entity.Task;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.repository.ArchivedTaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.TokenRevocationRegistry;
+import naneishvili.aleksandre.tasktrackerapi.security.UserChangeListener;
+import naneishvili.aleksandre.tasktrackerapi.security.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({TaskArchiver.class, UserChangeListener.class, VerifiedTokenCache.class, TokenRevocationRegistry.class,
+        TaskArchiverTest.MetricsConfig.class})
+class TaskArchiverTest {
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private TaskCountCache taskCountCache;
+
+    @MockBean
+    private TaskSearchIndex taskSearchIndex;
+
+    @MockBean
+    private TaskChangeLog taskChangeLog;
+
+    private Project project;
+    private User assignee;
+    private Map<String, Long> idsByTitle;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("owner@example.com", Role.MANAGER);
+        assignee = persistUser("user@example.com", Role.USER);
+
+        project = new Project();
+        project.setName("Project");
+        project.setOwner(owner);
+        entityManager.persist(project);
+
+        for (String title : List.of("a", "c", "e", "g", "i")) {
+            persistTask(title, TaskStatus.DONE);
+        }
+        persistTask("b", TaskStatus.DONE);
+        persistTask("d", TaskStatus.TODO);
+        persistTask("f", TaskStatus.IN_PROGRESS);
+        entityManager.flush();
+
+        // Everything except the recently finished "b" was last touched two months ago.
+        entityManager.getEntityManager()
+                .createQuery("update Task t set t.updateDate = :updated where t.title <> 'b'")
+                .setParameter("updated", LocalDateTime.now().minusDays(60))
+                .executeUpdate();
+        entityManager.clear();
+
+        idsByTitle = taskRepository.findAll().stream().collect(Collectors.toMap(Task::getTitle, Task::getId));
+    }
+
+    @Test
+    void archiveCompletedBefore_OldDoneTasks_MovesThemInChunksAndKeepsOthersHot() {
+        ReflectionTestUtils.setField(taskArchiver, "chunkSize", 2);
+
+        int archived = taskArchiver.archiveCompletedBefore(LocalDateTime.now().minusDays(30));
+
+        assertThat(archived).isEqualTo(5);
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactlyInAnyOrder("b", "d", "f");
+        assertThat(archivedTaskRepository.findAll())
+                .extracting(ArchivedTask::getId)
+                .containsExactlyInAnyOrder(idsByTitle.get("a"), idsByTitle.get("c"), idsByTitle.get("e"),
+                        idsByTitle.get("g"), idsByTitle.get("i"));
+        verify(taskCountCache, times(5)).taskDeleted(project.getId(), assignee.getId());
+        verify(taskSearchIndex, times(3)).tasksRemoved(anyCollection());
+        verify(taskChangeLog, times(3)).tasksRemoved(anyCollection(), anyLong());
+    }
+
+    @Test
+    void findSummariesIncludingArchivedByProjectId_AfterArchiving_InterleavesBothTablesInSortOrder() {
+        taskArchiver.archiveCompletedBefore(LocalDateTime.now().minusDays(30));
+
+        Page<TaskSummary> page = taskRepository.findSummariesIncludingArchivedByProjectId(project.getId(),
+                new TaskFilter(), PageRequest.of(1, 3, Sort.by("title")));
+
+        assertThat(page.getTotalElements()).isEqualTo(8);
+        assertThat(page.getContent()).extracting(TaskSummary::getTitle).containsExactly("d", "e", "f");
+        assertThat(page.getContent().get(1).getAssignedUser().getEmail()).isEqualTo("user@example.com");
+        assertThat(page.getContent().get(1).getProject().getOwner().getEmail()).isEqualTo("owner@example.com");
+        assertThat(page.getContent()).allSatisfy(summary -> {
+            assertThat(summary.getVersion()).isNotNull();
+            assertThat(summary.getProject().getVersion()).isNotNull();
+        });
+        assertThat(taskRepository.findSummariesByProjectId(project.getId(), new TaskFilter(),
+                PageRequest.of(0, 10)).getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void findSummarySliceIncludingArchivedByAssignedUserId_StatusFilter_AppliesToArchivedRowsToo() {
+        taskArchiver.archiveCompletedBefore(LocalDateTime.now().minusDays(30));
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(EnumSet.of(TaskStatus.DONE));
+
+        Slice<TaskSummary> slice = taskRepository.findSummarySliceIncludingArchivedByAssignedUserId(assignee.getId(),
+                filter, PageRequest.of(0, 4, Sort.by(Sort.Direction.DESC, "title")));
+
+        assertThat(slice.getContent()).extracting(TaskSummary::getTitle).containsExactly("i", "g", "e", "c");
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    private void persistTask(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setProject(project);
+        task.setAssignedUser(assignee);
+        entityManager.persist(task);
+    }
+
+    private User persistUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("encodedPassword");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.entity.Project;
+import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.repository.ProjectRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.UserRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Opt-in: mvn test -Dtest=TaskBulkCreateBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.naneishvili.aleksandre.tasktrackerapi=INFO"
+})
+@Slf4j
+class TaskBulkCreateBenchmarkTest {
+
+    private static final int TASK_COUNT = 10_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void createTasks_TenThousandTasks_FasterThanSingleCreates() {
+        User owner = saveUser("bench-owner@example.com", Role.MANAGER);
+        User assignee = saveUser("bench-user@example.com", Role.USER);
+        Project project = new Project();
+        project.setName("Benchmark project");
+        project.setOwner(owner);
+        projectRepository.save(project);
+        CurrentUser currentUser = new CurrentUser(owner.getId(), owner.getEmail(), owner.getRole());
+
+        List<TaskCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            TaskCreateRequest request = new TaskCreateRequest();
+            request.setTitle("Benchmark task " + i);
+            request.setProjectId(project.getId());
+            request.setAssignedUserId(assignee.getId());
+            requests.add(request);
+        }
+        long before = taskRepository.count();
+
+        long singleStart = System.nanoTime();
+        // Each call gets its own transaction and persistence context, as a separate request would.
+        requests.forEach(request -> transactionTemplate.executeWithoutResult(
+                status -> taskService.createTask(request, currentUser)));
+        Duration single = Duration.ofNanos(System.nanoTime() - singleStart);
+
+        TaskBulkCreateRequest bulkRequest = new TaskBulkCreateRequest();
+        bulkRequest.setTasks(requests);
+        long bulkStart = System.nanoTime();
+        taskService.createTasks(bulkRequest, currentUser);
+        Duration bulk = Duration.ofNanos(System.nanoTime() - bulkStart);
+
+        String timing = String.format("%d single creates: %d ms, one bulk create: %d ms (%.1fx)",
+                TASK_COUNT, single.toMillis(), bulk.toMillis(), (double) single.toNanos() / bulk.toNanos());
+        log.info(timing);
+        assertThat(taskRepository.count()).isEqualTo(before + 2L * TASK_COUNT);
+        assertThat(bulk).as(timing).isLessThan(single);
+    }
+
+    private User saveUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
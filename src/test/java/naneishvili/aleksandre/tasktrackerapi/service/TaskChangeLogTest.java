@@ -0,0 +1,105 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.entity.TaskTombstone;
+import naneishvili.aleksandre.tasktrackerapi.repository.OutboxEventRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskChangeLogTest {
+
+    private TaskChangeLog taskChangeLog;
+
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @BeforeEach
+    void setUp() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        taskTombstoneRepository = mock(TaskTombstoneRepository.class);
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+        when(taskRepository.findMaxChangeSeq()).thenReturn(10L);
+        when(taskTombstoneRepository.findMaxChangeSeq()).thenReturn(12L);
+        when(outboxEventRepository.findMaxChangeSeq()).thenReturn(11L);
+
+        taskChangeLog = new TaskChangeLog();
+        ReflectionTestUtils.setField(taskChangeLog, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskChangeLog, "taskTombstoneRepository", taskTombstoneRepository);
+        ReflectionTestUtils.setField(taskChangeLog, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(taskChangeLog, "tombstoneRetention", Duration.ofDays(30));
+        taskChangeLog.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void next_OutsideTransaction_ResumesAfterHighestStoredNumberAndIsStableAtOnce() {
+        assertThat(taskChangeLog.next()).isEqualTo(13L);
+        assertThat(taskChangeLog.next()).isEqualTo(14L);
+        assertThat(taskChangeLog.stable()).isEqualTo(14L);
+    }
+
+    @Test
+    void stable_WritesInFlight_StaysBelowTheOldestUntilItCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+        long first = taskChangeLog.next();
+        long second = taskChangeLog.next();
+        List<TransactionSynchronization> completions = TransactionSynchronizationManager.getSynchronizations();
+
+        assertThat(taskChangeLog.stable()).isEqualTo(12L);
+
+        completions.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(taskChangeLog.stable()).isEqualTo(12L);
+
+        completions.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(taskChangeLog.stable()).isEqualTo(second).isGreaterThan(first);
+    }
+
+    @Test
+    void taskReassigned_AwayFromAssignee_RecordsTombstoneOnlyForThem() {
+        taskChangeLog.taskReassigned(1L, 2L, 3L, 4L, 20L);
+
+        ArgumentCaptor<TaskTombstone> tombstone = ArgumentCaptor.forClass(TaskTombstone.class);
+        verify(taskTombstoneRepository).save(tombstone.capture());
+        assertThat(tombstone.getValue().getTaskId()).isEqualTo(1L);
+        assertThat(tombstone.getValue().getProjectOwnerId()).isNull();
+        assertThat(tombstone.getValue().getUserId()).isEqualTo(3L);
+        assertThat(tombstone.getValue().getChangeSeq()).isEqualTo(20L);
+    }
+
+    @Test
+    void taskReassigned_FromProjectOwnerOrUnassigned_RecordsNothing() {
+        taskChangeLog.taskReassigned(1L, 2L, 2L, 4L, 20L);
+        taskChangeLog.taskReassigned(1L, 2L, null, 4L, 21L);
+        taskChangeLog.taskReassigned(1L, 2L, 4L, 4L, 22L);
+
+        verify(taskTombstoneRepository, never()).save(any(TaskTombstone.class));
+    }
+
+    @Test
+    void isExpired_CursorOlderThanRetention_ReturnsTrue() {
+        assertThat(taskChangeLog.isExpired(Instant.now().minus(Duration.ofDays(31)))).isTrue();
+        assertThat(taskChangeLog.isExpired(Instant.now().minus(Duration.ofDays(29)))).isFalse();
+    }
+}
@@ -0,0 +1,89 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskCountCacheTest {
+
+    private TaskCountCache taskCountCache;
+
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskCountCache = new TaskCountCache();
+        ReflectionTestUtils.setField(taskCountCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(taskCountCache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(taskCountCache, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskCountCache, "meterRegistry", new SimpleMeterRegistry());
+        taskCountCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void countByProject_AfterWrites_AdjustsCachedTotalWithoutRecounting() {
+        when(taskRepository.countByProjectId(1L)).thenReturn(10L);
+        when(taskRepository.countByAssignedUserId(3L)).thenReturn(4L);
+        taskCountCache.countByProject(1L);
+        taskCountCache.countByAssignedUser(3L);
+
+        taskCountCache.taskCreated(1L, 3L);
+        taskCountCache.taskCreated(1L, null);
+        taskCountCache.taskDeleted(1L, 3L);
+        taskCountCache.taskReassigned(3L, 4L);
+
+        assertThat(taskCountCache.countByProject(1L)).isEqualTo(11L);
+        assertThat(taskCountCache.countByAssignedUser(3L)).isEqualTo(3L);
+        verify(taskRepository, times(1)).countByProjectId(1L);
+        verify(taskRepository, times(1)).countByAssignedUserId(3L);
+    }
+
+    @Test
+    void projectDeleted_CachedTotals_ReloadsOnNextRead() {
+        when(taskRepository.countByProjectId(1L)).thenReturn(10L, 0L);
+        when(taskRepository.countByAssignedUserId(3L)).thenReturn(4L, 1L);
+        taskCountCache.countByProject(1L);
+        taskCountCache.countByAssignedUser(3L);
+
+        taskCountCache.projectDeleted(1L);
+
+        assertThat(taskCountCache.countByProject(1L)).isZero();
+        assertThat(taskCountCache.countByAssignedUser(3L)).isEqualTo(1L);
+    }
+
+    @Test
+    void taskCreated_InTransaction_AdjustsOnlyOnceCommitted() {
+        when(taskRepository.countByProjectId(1L)).thenReturn(10L);
+        taskCountCache.countByProject(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        taskCountCache.taskCreated(1L, null);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        assertThat(taskCountCache.countByProject(1L)).isEqualTo(10L);
+        synchronizations.get(0).afterCommit();
+        assertThat(taskCountCache.countByProject(1L)).isEqualTo(11L);
+    }
+}
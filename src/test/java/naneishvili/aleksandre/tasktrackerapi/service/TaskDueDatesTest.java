@@ -0,0 +1,137 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskDeadline;
+import naneishvili.aleksandre.tasktrackerapi.enums.DueDateAlert;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskDueDatesTest {
+
+    private static final CurrentUser ADMIN = new CurrentUser(1L, "admin@example.com", Role.ADMIN);
+    private static final CurrentUser OWNER = new CurrentUser(2L, "manager@example.com", Role.MANAGER);
+    private static final CurrentUser ASSIGNEE = new CurrentUser(3L, "user@example.com", Role.USER);
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private TaskDueDates taskDueDates;
+
+    private TaskRepository taskRepository;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        taskDueDates = new TaskDueDates();
+        ReflectionTestUtils.setField(taskDueDates, "loadBatchSize", 2);
+        ReflectionTestUtils.setField(taskDueDates, "reminderLead", Duration.ofDays(1));
+        ReflectionTestUtils.setField(taskDueDates, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskDueDates, "eventPublisher", eventPublisher);
+
+        when(taskRepository.findOpenDeadlines(TaskStatus.DONE, Limit.of(2))).thenReturn(List.of(
+                new TaskDeadline(3L, TODAY.minusDays(5), TaskStatus.TODO, 10L, 2L, 3L),
+                new TaskDeadline(1L, TODAY.minusDays(1), TaskStatus.IN_PROGRESS, 20L, 1L, null)));
+        when(taskRepository.findOpenDeadlinesAfter(TaskStatus.DONE, TODAY.minusDays(1), 1L, Limit.of(2)))
+                .thenReturn(List.of(
+                        new TaskDeadline(2L, TODAY.plusDays(1), TaskStatus.TODO, 10L, 2L, null),
+                        new TaskDeadline(4L, TODAY.plusDays(3), TaskStatus.TODO, 10L, 2L, 3L)));
+        when(taskRepository.findOpenDeadlinesAfter(TaskStatus.DONE, TODAY.plusDays(3), 4L, Limit.of(2)))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void overdue_AfterLoad_ReturnsPastDueTasksOldestFirstScopedToUser() {
+        taskDueDates.load(TODAY);
+
+        assertThat(taskDueDates.overdue(ADMIN, TODAY, 0, 10)).containsExactly(3L, 1L);
+        assertThat(taskDueDates.overdue(ADMIN, TODAY, 1, 10)).containsExactly(1L);
+        assertThat(taskDueDates.overdue(OWNER, TODAY, 0, 10)).containsExactly(3L);
+        assertThat(taskDueDates.overdue(ASSIGNEE, TODAY.plusDays(4), 0, 10)).containsExactly(3L, 4L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void taskSaved_BeforeFirstLoad_IsPickedUpByTheLoadWithoutAnnouncing() {
+        taskDueDates.taskSaved(new TaskDeadline(3L, TODAY.minusDays(5), TaskStatus.TODO, 10L, 2L, 3L));
+
+        taskDueDates.load(TODAY);
+
+        assertThat(taskDueDates.overdue(ADMIN, TODAY, 0, 10)).containsExactly(3L, 1L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void check_AsDaysPass_PublishesEachAlertOncePerTask() {
+        taskDueDates.load(TODAY);
+
+        taskDueDates.check(TODAY);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+
+        taskDueDates.check(TODAY.plusDays(2));
+        taskDueDates.check(TODAY.plusDays(2));
+
+        ArgumentCaptor<TaskDueEvent> events = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(TaskDueEvent::getAlert, TaskDueEvent::getTaskId)
+                .containsExactly(tuple(DueDateAlert.OVERDUE, 2L), tuple(DueDateAlert.APPROACHING, 4L));
+    }
+
+    @Test
+    void writes_AfterLoad_UpdateOverdueTasksAndAnnounceNewlyDueOnes() {
+        taskDueDates.load(TODAY);
+
+        taskDueDates.taskSaved(new TaskDeadline(3L, TODAY.minusDays(5), TaskStatus.DONE, 10L, 2L, 3L));
+        taskDueDates.taskSaved(new TaskDeadline(5L, TODAY.minusDays(2), TaskStatus.TODO, 10L, 2L, null));
+        taskDueDates.taskSaved(new TaskDeadline(2L, TODAY, TaskStatus.TODO, 10L, 2L, null));
+        taskDueDates.tasksReassigned(List.of(1L), 3L);
+
+        assertThat(taskDueDates.overdue(ADMIN, TODAY, 0, 10)).containsExactly(5L, 1L);
+        assertThat(taskDueDates.overdue(ASSIGNEE, TODAY, 0, 10)).containsExactly(1L);
+
+        ArgumentCaptor<TaskDueEvent> events = ArgumentCaptor.forClass(TaskDueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(TaskDueEvent::getAlert, TaskDueEvent::getTaskId)
+                .containsExactly(tuple(DueDateAlert.OVERDUE, 5L), tuple(DueDateAlert.APPROACHING, 2L));
+
+        clearInvocations(eventPublisher);
+        taskDueDates.taskSaved(new TaskDeadline(2L, TODAY, TaskStatus.IN_PROGRESS, 10L, 2L, 3L));
+        taskDueDates.tasksRemoved(List.of(1L));
+        taskDueDates.projectRemoved(10L);
+
+        assertThat(taskDueDates.overdue(ADMIN, TODAY.plusDays(10), 0, 10)).isEmpty();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void overdue_BeforeLoad_ThrowsServiceUnavailableException() {
+        assertThatThrownBy(() -> taskDueDates.overdue(ADMIN, TODAY, 0, 10))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+}
@@ -0,0 +1,216 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskEventResponse;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskEventStreamTest {
+
+    private TaskEventStream taskEventStream;
+
+    @BeforeEach
+    void setUp() {
+        taskEventStream = new TaskEventStream();
+        ReflectionTestUtils.setField(taskEventStream, "bufferSize", 8);
+        ReflectionTestUtils.setField(taskEventStream, "senderThreads", 1);
+        ReflectionTestUtils.setField(taskEventStream, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(taskEventStream, "sendTimeout", Duration.ofSeconds(5));
+        taskEventStream.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskEventStream.shutdown();
+    }
+
+    @Test
+    void publish_ToSubscribedProject_DeliversEventsInOrderToEachSubscriber() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter otherProject = new RecordingEmitter();
+        taskEventStream.subscribe(1L, first);
+        taskEventStream.subscribe(1L, second);
+        taskEventStream.subscribe(2L, otherProject);
+
+        taskEventStream.publish(event(TaskEventType.CREATED, 10L));
+        taskEventStream.publish(event(TaskEventType.STATUS_CHANGED, 10L));
+        taskEventStream.publish(event(TaskEventType.DELETED, 10L));
+
+        awaitTrue(() -> first.names.size() == 3 && second.names.size() == 3);
+        assertThat(first.names).containsExactly("CREATED", "STATUS_CHANGED", "DELETED");
+        assertThat(second.names).containsExactly("CREATED", "STATUS_CHANGED", "DELETED");
+        assertThat(otherProject.names).isEmpty();
+    }
+
+    @Test
+    void publish_SubscriberFallsBufferBehind_DropsBufferedEventsAndSendsResync() throws InterruptedException {
+        ReflectionTestUtils.setField(taskEventStream, "bufferSize", 2);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockFirstSend();
+        taskEventStream.subscribe(1L, slow);
+
+        taskEventStream.publish(event(TaskEventType.CREATED, 1L));
+        assertThat(slow.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long taskId = 2; taskId <= 5; taskId++) {
+            taskEventStream.publish(event(TaskEventType.UPDATED, taskId));
+        }
+        slow.release.countDown();
+
+        awaitTrue(() -> slow.names.size() == 4);
+        assertThat(slow.names).containsExactly("CREATED", TaskEventStream.RESYNC, "UPDATED", "UPDATED");
+        assertThat(slow.payloads.get(2)).contains("taskId=4");
+        assertThat(slow.payloads.get(3)).contains("taskId=5");
+    }
+
+    @Test
+    void expireStalledSends_ClientStopsReading_DropsSubscriberWithoutWaitingForTheWrite() throws Exception {
+        ReflectionTestUtils.setField(taskEventStream, "sendTimeout", Duration.ofMillis(100));
+        RecordingEmitter stuck = new RecordingEmitter();
+        stuck.blockFirstSend();
+        taskEventStream.subscribe(1L, stuck);
+
+        taskEventStream.publish(event(TaskEventType.CREATED, 1L));
+        assertThat(stuck.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The blocked send holds the emitter's lock, as a write to a client that stopped reading does.
+        CompletableFuture.runAsync(() -> awaitTrue(() -> {
+            taskEventStream.expireStalledSends();
+            return taskEventStream.subscriberCount(1L) == 0;
+        })).get(2, TimeUnit.SECONDS);
+        taskEventStream.publish(event(TaskEventType.UPDATED, 1L));
+        assertThat(stuck.completedBy).isNull();
+
+        stuck.release.countDown();
+
+        awaitTrue(() -> stuck.completedBy != null);
+        assertThat(stuck.completedBy).startsWith("task-events-");
+        assertThat(stuck.names).containsExactly("CREATED");
+    }
+
+    @Test
+    void projectDeleted_DuringBlockedSend_LeavesCompletionToTheSender() throws Exception {
+        RecordingEmitter stuck = new RecordingEmitter();
+        stuck.blockFirstSend();
+        RecordingEmitter idle = new RecordingEmitter();
+        taskEventStream.subscribe(1L, stuck);
+        taskEventStream.subscribe(1L, idle);
+
+        taskEventStream.publish(event(TaskEventType.CREATED, 1L));
+        assertThat(stuck.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture.runAsync(() -> taskEventStream.projectDeleted(1L)).get(2, TimeUnit.SECONDS);
+        assertThat(idle.completedBy).isNotNull();
+        assertThat(stuck.completedBy).isNull();
+
+        stuck.release.countDown();
+
+        awaitTrue(() -> stuck.completedBy != null);
+        assertThat(stuck.completedBy).startsWith("task-events-");
+        assertThat(taskEventStream.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    void publish_ClientGone_RemovesSubscriber() {
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.failSends = true;
+        taskEventStream.subscribe(1L, gone);
+        assertThat(taskEventStream.subscriberCount(1L)).isEqualTo(1);
+
+        taskEventStream.publish(event(TaskEventType.CREATED, 1L));
+
+        awaitTrue(() -> taskEventStream.subscriberCount(1L) == 0);
+    }
+
+    @Test
+    void heartbeat_IdleSubscriber_SendsComment() {
+        RecordingEmitter idle = new RecordingEmitter();
+        taskEventStream.subscribe(1L, idle);
+
+        taskEventStream.heartbeat();
+
+        awaitTrue(() -> idle.payloads.size() == 1);
+        assertThat(idle.payloads.get(0)).startsWith(":heartbeat");
+        assertThat(idle.names).containsExactly((String) null);
+    }
+
+    private static TaskEventResponse event(TaskEventType type, Long taskId) {
+        return new TaskEventResponse(type, 1L, taskId, 0L, null);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    // Records what would be written to the response instead of writing it. Like the real emitter, a send
+    // holds the emitter's lock until it returns, and complete() has to wait for it.
+    private static class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern EVENT_NAME = Pattern.compile("^event:(\\S+)", Pattern.MULTILINE);
+
+        private final List<String> names = new CopyOnWriteArrayList<>();
+
+        private final List<String> payloads = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private boolean blockFirstSend;
+
+        private volatile boolean failSends;
+
+        private volatile String completedBy;
+
+        void blockFirstSend() {
+            blockFirstSend = true;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            if (blockFirstSend && sending.getCount() == 1) {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Write interrupted", e);
+                }
+            }
+            Matcher name = EVENT_NAME.matcher(text);
+            names.add(name.find() ? name.group(1) : null);
+            payloads.add(text.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completedBy = Thread.currentThread().getName();
+            super.complete();
+        }
+    }
+}
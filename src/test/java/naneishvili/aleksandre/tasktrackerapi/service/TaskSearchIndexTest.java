@@ -0,0 +1,79 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSearchDocument;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private static final CurrentUser ADMIN = new CurrentUser(1L, "admin@example.com", Role.ADMIN);
+    private static final CurrentUser OWNER = new CurrentUser(2L, "manager@example.com", Role.MANAGER);
+    private static final CurrentUser ASSIGNEE = new CurrentUser(3L, "user@example.com", Role.USER);
+
+    private TaskSearchIndex taskSearchIndex;
+
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        taskSearchIndex = new TaskSearchIndex();
+        ReflectionTestUtils.setField(taskSearchIndex, "rebuildBatchSize", 2);
+        ReflectionTestUtils.setField(taskSearchIndex, "taskRepository", taskRepository);
+
+        when(taskRepository.findSearchDocumentsAfter(0L, Limit.of(2))).thenReturn(List.of(
+                new TaskSearchDocument(1L, "Checkout page", "Payment form for the checkout", 10L, 2L, 3L),
+                new TaskSearchDocument(2L, "Payment provider", "Wire the checkout to Stripe", 10L, 2L, null)));
+        when(taskRepository.findSearchDocumentsAfter(2L, Limit.of(2))).thenReturn(List.of(
+                new TaskSearchDocument(3L, "Release notes", "Mention the new checkout payment flow", 20L, 1L, 3L)));
+    }
+
+    @Test
+    void search_AfterRebuild_MatchesAllTermsRanksTitleHitsFirstAndScopesToUser() {
+        taskSearchIndex.rebuild();
+
+        assertThat(taskSearchIndex.search("Checkout PAYMENT", ADMIN, 0, 10)).containsExactly(2L, 1L, 3L);
+        assertThat(taskSearchIndex.search("checkout payment", OWNER, 0, 10)).containsExactly(2L, 1L);
+        assertThat(taskSearchIndex.search("checkout payment", ASSIGNEE, 0, 10)).containsExactly(1L, 3L);
+        assertThat(taskSearchIndex.search("checkout payment", ADMIN, 1, 1)).containsExactly(1L);
+        assertThat(taskSearchIndex.search("checkout invoice", ADMIN, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void writes_AfterRebuild_AreVisibleToTheNextSearch() {
+        taskSearchIndex.rebuild();
+
+        taskSearchIndex.taskSaved(new TaskSearchDocument(1L, "Cart page", null, 10L, 2L, 3L));
+        taskSearchIndex.taskSaved(new TaskSearchDocument(4L, "Checkout copy", null, 20L, 1L, null));
+        taskSearchIndex.tasksReassigned(List.of(2L), 3L);
+        taskSearchIndex.tasksRemoved(List.of(3L));
+
+        assertThat(taskSearchIndex.search("checkout", ADMIN, 0, 10)).containsExactly(4L, 2L);
+        assertThat(taskSearchIndex.search("cart", ASSIGNEE, 0, 10)).containsExactly(1L);
+        assertThat(taskSearchIndex.search("stripe", ASSIGNEE, 0, 10)).containsExactly(2L);
+
+        taskSearchIndex.projectRemoved(10L);
+
+        assertThat(taskSearchIndex.search("checkout", ADMIN, 0, 10)).containsExactly(4L);
+        assertThat(taskSearchIndex.search("cart", ADMIN, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_BeforeRebuild_ThrowsServiceUnavailableException() {
+        assertThatThrownBy(() -> taskSearchIndex.search("checkout", ADMIN, 0, 10))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+}
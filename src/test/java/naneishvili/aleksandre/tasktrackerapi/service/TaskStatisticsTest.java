@@ -0,0 +1,93 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskCount;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskStatsResponse;
+import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.exception.ServiceUnavailableException;
+import naneishvili.aleksandre.tasktrackerapi.repository.ArchivedTaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskStatisticsTest {
+
+    private TaskStatistics taskStatistics;
+
+    private TaskRepository taskRepository;
+
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        archivedTaskRepository = mock(ArchivedTaskRepository.class);
+        taskStatistics = new TaskStatistics();
+        ReflectionTestUtils.setField(taskStatistics, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskStatistics, "archivedTaskRepository", archivedTaskRepository);
+
+        when(taskRepository.countGroupedByProjectStatusAndPriority()).thenReturn(List.of(
+                new TaskCount(1L, TaskStatus.TODO, Priority.HIGH, 3L),
+                new TaskCount(1L, TaskStatus.DONE, Priority.LOW, 2L),
+                new TaskCount(2L, TaskStatus.IN_PROGRESS, Priority.MEDIUM, 4L)));
+        when(archivedTaskRepository.countGroupedByProjectStatusAndPriority()).thenReturn(List.of(
+                new TaskCount(1L, TaskStatus.DONE, Priority.LOW, 5L)));
+    }
+
+    @Test
+    void projectStats_AfterWrites_AdjustsCountersWithoutRecounting() {
+        taskStatistics.reconcile();
+
+        taskStatistics.taskCreated(1L, TaskStatus.TODO, Priority.LOW);
+        taskStatistics.taskChanged(1L, TaskStatus.TODO, Priority.HIGH, TaskStatus.DONE, Priority.HIGH);
+        taskStatistics.taskDeleted(1L, TaskStatus.DONE, Priority.LOW);
+
+        TaskStatsResponse stats = taskStatistics.projectStats(1L);
+        assertThat(stats.getTotal()).isEqualTo(10L);
+        assertThat(stats.getByStatus()).containsOnly(entry(TaskStatus.TODO, 3L), entry(TaskStatus.IN_PROGRESS, 0L),
+                entry(TaskStatus.DONE, 7L));
+        assertThat(stats.getByPriority()).containsOnly(entry(Priority.LOW, 7L), entry(Priority.MEDIUM, 0L),
+                entry(Priority.HIGH, 3L));
+        assertThat(taskStatistics.totals().getTotal()).isEqualTo(14L);
+        verify(taskRepository, times(1)).countGroupedByProjectStatusAndPriority();
+    }
+
+    @Test
+    void projectDeleted_RemovesItsCountsFromTheTotals() {
+        taskStatistics.reconcile();
+
+        taskStatistics.projectDeleted(1L);
+
+        assertThat(taskStatistics.projectStats(1L).getTotal()).isZero();
+        assertThat(taskStatistics.totals().getByStatus()).containsEntry(TaskStatus.IN_PROGRESS, 4L)
+                .containsEntry(TaskStatus.DONE, 0L);
+    }
+
+    @Test
+    void reconcile_DriftedCounters_ReplacesThemWithDatabaseCounts() {
+        taskStatistics.reconcile();
+        taskStatistics.taskCreated(2L, TaskStatus.TODO, Priority.LOW);
+
+        taskStatistics.reconcile();
+
+        assertThat(taskStatistics.projectStats(2L).getTotal()).isEqualTo(4L);
+        assertThat(taskStatistics.totals().getTotal()).isEqualTo(14L);
+    }
+
+    @Test
+    void projectStats_BeforeFirstReconcile_ThrowsServiceUnavailableException() {
+        assertThatThrownBy(() -> taskStatistics.projectStats(1L))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+}
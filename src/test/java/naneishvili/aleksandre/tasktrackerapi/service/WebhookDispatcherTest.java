@@ -0,0 +1,264 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import naneishvili.aleksandre.tasktrackerapi.entity.OutboxEvent;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDeadLetter;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookDelivery;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import naneishvili.aleksandre.tasktrackerapi.enums.AggregateType;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeadLetterRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.TokenRevocationRegistry;
+import naneishvili.aleksandre.tasktrackerapi.security.UserChangeListener;
+import naneishvili.aleksandre.tasktrackerapi.security.VerifiedTokenCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Runs the dispatcher against a stub endpoint on a local port, allowed by host name; the background
+// poller is left idle.
+@DataJpaTest(properties = {"webhooks.poll-interval=PT1H", "webhooks.allowed-hosts=localhost,hooks.test"})
+@Import({WebhookDispatcher.class, WebhookOutboxSink.class, WebhookUrlPolicy.class, Outbox.class,
+        UserChangeListener.class, VerifiedTokenCache.class, TokenRevocationRegistry.class,
+        WebhookDispatcherTest.Config.class})
+class WebhookDispatcherTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Autowired
+    private WebhookDispatcher webhookDispatcher;
+
+    @Autowired
+    private WebhookOutboxSink webhookOutboxSink;
+
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpServer server;
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    private final List<String> signatures = new CopyOnWriteArrayList<>();
+
+    private final List<String> hosts = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private WebhookUrlPolicy webhookUrlPolicy;
+
+    private Object hostResolver;
+
+    private volatile int status = 200;
+
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                received.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            signatures.add(exchange.getRequestHeaders().getFirst(WebhookDispatcher.SIGNATURE_HEADER));
+            hosts.add(exchange.getRequestHeaders().getFirst("Host"));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/hook";
+
+        ReflectionTestUtils.setField(webhookDispatcher, "batchSize", 2);
+        ReflectionTestUtils.setField(webhookDispatcher, "maxAttempts", 2);
+        ReflectionTestUtils.setField(webhookDispatcher, "initialBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(webhookDispatcher, "maxBackoff", Duration.ofSeconds(20));
+        hostResolver = ReflectionTestUtils.getField(webhookUrlPolicy, "hostResolver");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        ReflectionTestUtils.setField(webhookUrlPolicy, "hostResolver", hostResolver);
+    }
+
+    @Test
+    void publishThenDeliver_QueuesSubscribedProjectsOnlyAndPostsCoalescedBatchesInOrder() throws IOException {
+        WebhookSubscription subscription = subscribe(10L);
+
+        webhookOutboxSink.publish(List.of(
+                event(1L, 10L, 1L),
+                event(2L, 30L, 2L),
+                event(3L, 10L, 2L),
+                event(4L, 10L, 3L)));
+
+        assertThat(webhookDeliveryRepository.findAll()).extracting(WebhookDelivery::getEventId)
+                .containsExactlyInAnyOrder(1L, 3L, 4L);
+
+        assertThat(webhookDispatcher.deliver(subscription.getId(), NOW)).isTrue();
+        assertThat(webhookDispatcher.deliver(subscription.getId(), NOW)).isFalse();
+
+        assertThat(received).hasSize(2);
+        JsonNode first = objectMapper.readTree(received.get(0));
+        assertThat(first.get("webhookId").asLong()).isEqualTo(subscription.getId());
+        assertThat(first.get("projectId").asLong()).isEqualTo(10L);
+        assertThat(first.get("events").findValuesAsText("id")).containsExactly("1", "3");
+        assertThat(first.get("events").get(0).get("payload").get("taskId").asLong()).isEqualTo(1L);
+        assertThat(objectMapper.readTree(received.get(1)).get("events").findValuesAsText("id")).containsExactly("4");
+        assertThat(webhookDeliveryRepository.count()).isZero();
+        assertThat(signatures).containsExactly(
+                "sha256=" + WebhookDispatcher.sign(SECRET, received.get(0)),
+                "sha256=" + WebhookDispatcher.sign(SECRET, received.get(1)));
+    }
+
+    @Test
+    void deliver_EndpointFails_BacksOffAndDeadLettersAfterMaxAttempts() {
+        WebhookSubscription subscription = subscribe(10L);
+        queue(subscription, 1L);
+        status = 500;
+
+        assertThat(webhookDispatcher.deliver(subscription.getId(), NOW)).isFalse();
+        entityManager.clear();
+
+        assertThat(webhookSubscriptionRepository.findById(subscription.getId()).orElseThrow())
+                .extracting(WebhookSubscription::getFailures, WebhookSubscription::getNextAttemptAt)
+                .containsExactly(1, NOW.plusSeconds(5));
+        assertThat(webhookDeliveryRepository.findAll()).extracting(WebhookDelivery::getAttempts).containsExactly(1);
+        assertThat(webhookSubscriptionRepository.findDue(NOW, Limit.of(10))).isEmpty();
+        assertThat(webhookSubscriptionRepository.findDue(NOW.plusSeconds(5), Limit.of(10))).hasSize(1);
+
+        webhookDispatcher.deliver(subscription.getId(), NOW.plusSeconds(5));
+        entityManager.clear();
+
+        assertThat(webhookSubscriptionRepository.findById(subscription.getId()).orElseThrow().getNextAttemptAt())
+                .isEqualTo(NOW.plusSeconds(15));
+        assertThat(webhookDeliveryRepository.count()).isZero();
+        assertThat(webhookDeadLetterRepository.findAll())
+                .extracting(WebhookDeadLetter::getEventId, WebhookDeadLetter::getProjectId, WebhookDeadLetter::getUrl,
+                        WebhookDeadLetter::getAttempts, WebhookDeadLetter::getLastError)
+                .containsExactly(tuple(1L, 10L, url, 2, "HTTP 500"));
+        assertThat(webhookDispatcher.backoff(5)).isEqualTo(Duration.ofSeconds(20));
+
+        status = 204;
+        queue(subscription, 2L);
+        assertThat(webhookDispatcher.deliver(subscription.getId(), NOW.plusSeconds(15))).isFalse();
+        entityManager.clear();
+
+        assertThat(webhookSubscriptionRepository.findById(subscription.getId()).orElseThrow())
+                .extracting(WebhookSubscription::getFailures, WebhookSubscription::getNextAttemptAt)
+                .containsExactly(0, null);
+        assertThat(webhookDeliveryRepository.count()).isZero();
+        assertThat(received).hasSize(3);
+    }
+
+    @Test
+    void deliver_HostResolvesToLoopback_RefusesWithoutPosting() {
+        WebhookSubscription subscription = webhookSubscriptionRepository.save(new WebhookSubscription(null, 10L,
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/hook", SECRET, 0, null, null));
+        queue(subscription, 1L);
+
+        assertThat(webhookDispatcher.deliver(subscription.getId(), NOW)).isFalse();
+        entityManager.clear();
+
+        assertThat(received).isEmpty();
+        assertThat(webhookSubscriptionRepository.findById(subscription.getId()).orElseThrow().getFailures())
+                .isEqualTo(1);
+        assertThat(webhookDeliveryRepository.findAll()).extracting(WebhookDelivery::getAttempts).containsExactly(1);
+    }
+
+    @Test
+    void deliver_HostRebindsAfterTheCheck_PostsToTheCheckedAddress() throws UnknownHostException {
+        // The stub endpoint is on loopback, so the host is allowed by name; what matters is that the POST
+        // goes where the check resolved, not where a second lookup would.
+        InetAddress checked = InetAddress.getByAddress("hooks.test", new byte[]{127, 0, 0, 1});
+        InetAddress rebound = InetAddress.getByAddress("hooks.test", new byte[]{127, 0, 0, 2});
+        AtomicInteger lookups = new AtomicInteger();
+        ReflectionTestUtils.setField(webhookUrlPolicy, "hostResolver", (WebhookUrlPolicy.HostResolver) host ->
+                new InetAddress[]{lookups.getAndIncrement() == 0 ? checked : rebound});
+        String hostAndPort = "hooks.test:" + server.getAddress().getPort();
+        WebhookSubscription subscription = webhookSubscriptionRepository.save(new WebhookSubscription(null, 10L,
+                "http://" + hostAndPort + "/hook", SECRET, 0, null, null));
+        queue(subscription, 1L);
+
+        assertThat(webhookDispatcher.deliver(subscription.getId(), NOW)).isFalse();
+
+        assertThat(lookups).hasValue(1);
+        assertThat(received).hasSize(1);
+        assertThat(hosts).containsExactly(hostAndPort);
+        assertThat(webhookDeliveryRepository.count()).isZero();
+    }
+
+    @Test
+    void sign_KnownInput_MatchesHmacSha256() {
+        assertThat(WebhookDispatcher.sign("key", "The quick brown fox jumps over the lazy dog"))
+                .isEqualTo("f7bc83f430538424b13298e6aa6fb143ef4d59a14946175997479dbc2d1a3cd8");
+    }
+
+    private WebhookSubscription subscribe(Long projectId) {
+        return webhookSubscriptionRepository.save(new WebhookSubscription(null, projectId, url, SECRET, 0, null, null));
+    }
+
+    private void queue(WebhookSubscription subscription, Long eventId) {
+        webhookDeliveryRepository.save(new WebhookDelivery(null, subscription.getId(), eventId,
+                "{\"id\":" + eventId + "}", eventId, 0, null));
+    }
+
+    private static OutboxEvent event(Long id, Long projectId, Long taskId) {
+        return new OutboxEvent(id, AggregateType.TASK, taskId, projectId, TaskEventType.UPDATED,
+                "{\"taskId\":" + taskId + "}", id, null);
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package naneishvili.aleksandre.tasktrackerapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Uses IP literals and a stub resolver so no lookup leaves the machine.
+class WebhookUrlPolicyTest {
+
+    private WebhookUrlPolicy webhookUrlPolicy;
+
+    @BeforeEach
+    void setUp() {
+        webhookUrlPolicy = new WebhookUrlPolicy();
+        ReflectionTestUtils.setField(webhookUrlPolicy, "allowedHosts", Set.of(" Hooks.Internal "));
+        webhookUrlPolicy.init();
+    }
+
+    @Test
+    void violation_NonPublicAddresses_AreRefused() {
+        assertThat(List.of(
+                "http://127.0.0.1/hook",
+                "http://169.254.169.254/latest/meta-data",
+                "https://10.1.2.3/hook",
+                "https://192.168.0.10:8443/hook",
+                "http://0.0.0.0:8080/hook",
+                "http://[::1]/hook",
+                "http://[fd12:3456::1]/hook",
+                "http://[fe80::1]/hook"))
+                .allSatisfy(url -> assertThat(webhookUrlPolicy.violation(url)).as(url).contains("non-public address"));
+    }
+
+    @Test
+    void violation_PublicAddress_IsAllowed() {
+        assertThat(webhookUrlPolicy.violation("https://93.184.216.34/hook")).isNull();
+    }
+
+    @Test
+    void violation_AllowedHost_SkipsTheAddressCheck() {
+        resolveTo("hooks.internal", "10.0.0.5");
+
+        assertThat(webhookUrlPolicy.violation("http://hooks.internal:9000/hook")).isNull();
+    }
+
+    @Test
+    void violation_OtherScheme_IsRefused() {
+        assertThat(webhookUrlPolicy.violation("file:///etc/passwd"))
+                .isEqualTo("Webhook URL must be an http or https URL");
+    }
+
+    @Test
+    void check_HostRebindsAfterTheCheck_ReturnsTheAddressesThatWereChecked() throws UnknownHostException {
+        InetAddress checked = InetAddress.getByAddress("hooks.example", new byte[]{93, (byte) 184, (byte) 216, 34});
+        InetAddress rebound = InetAddress.getByAddress("hooks.example", new byte[]{127, 0, 0, 1});
+        AtomicInteger lookups = new AtomicInteger();
+        ReflectionTestUtils.setField(webhookUrlPolicy, "hostResolver", (WebhookUrlPolicy.HostResolver) host ->
+                new InetAddress[]{lookups.getAndIncrement() == 0 ? checked : rebound});
+
+        WebhookTarget target = webhookUrlPolicy.check("https://hooks.example/hook");
+
+        assertThat(target.isAllowed()).isTrue();
+        assertThat(target.getAddresses()).containsExactly(checked);
+        assertThat(webhookUrlPolicy.violation("https://hooks.example/hook")).contains("non-public address");
+    }
+
+    @Test
+    void check_UnresolvableHost_IsRefused() {
+        ReflectionTestUtils.setField(webhookUrlPolicy, "hostResolver", (WebhookUrlPolicy.HostResolver) host -> {
+            throw new UnknownHostException(host);
+        });
+
+        assertThat(webhookUrlPolicy.check("https://nowhere.example/hook"))
+                .extracting(WebhookTarget::getViolation, WebhookTarget::getAddresses)
+                .containsExactly("Webhook host nowhere.example cannot be resolved", List.of());
+    }
+
+    private void resolveTo(String name, String address) {
+        ReflectionTestUtils.setField(webhookUrlPolicy, "hostResolver", (WebhookUrlPolicy.HostResolver) host ->
+                new InetAddress[]{InetAddress.getByAddress(name, InetAddress.getByName(address).getAddress())});
+    }
+}
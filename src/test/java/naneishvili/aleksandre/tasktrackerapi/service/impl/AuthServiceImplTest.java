@@ -5,8 +5,10 @@ import naneishvili.aleksandre.tasktrackerapi.dto.response.JwtResponse;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.UserResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
 import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.UserMapper;
 import naneishvili.aleksandre.tasktrackerapi.security.JwtUtil;
+import naneishvili.aleksandre.tasktrackerapi.security.PasswordHasher;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,20 +16,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceImplTest {
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtil;
@@ -54,6 +57,7 @@ class AuthServiceImplTest {
         testUser = new User();
         testUser.setId(1L);
         testUser.setEmail("test@example.com");
+        testUser.setPassword("encodedPassword");
         testUser.setRole(Role.USER);
 
         userResponse = new UserResponse();
@@ -65,10 +69,9 @@ class AuthServiceImplTest {
     @Test
     void login_ValidCredentials_ReturnsJwtResponse() {
         String token = "jwt-token";
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(null);
-        when(jwtUtil.generateToken("test@example.com")).thenReturn(token);
         when(userService.findByEmail("test@example.com")).thenReturn(testUser);
+        when(passwordHasher.matches("password", "encodedPassword")).thenReturn(true);
+        when(jwtUtil.generateToken(testUser)).thenReturn(token);
         when(userMapper.toResponse(testUser)).thenReturn(userResponse);
 
         JwtResponse result = authService.login(loginRequest);
@@ -80,11 +83,22 @@ class AuthServiceImplTest {
 
     @Test
     void login_InvalidCredentials_ThrowsException() {
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new BadCredentialsException("Invalid credentials"));
+        when(userService.findByEmail("test@example.com")).thenReturn(testUser);
+        when(passwordHasher.matches("password", "encodedPassword")).thenReturn(false);
+
+        assertThatThrownBy(() -> authService.login(loginRequest))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(jwtUtil, never()).generateToken(testUser);
+    }
+
+    @Test
+    void login_UnknownEmail_StillRunsHashCheckAndThrowsBadCredentialsException() {
+        when(userService.findByEmail("test@example.com"))
+                .thenThrow(new ResourceNotFoundException("User not found with email: test@example.com"));
 
         assertThatThrownBy(() -> authService.login(loginRequest))
                 .isInstanceOf(BadCredentialsException.class);
+        verify(passwordHasher).matches(eq("password"), startsWith("$2a$10$"));
     }
 
     @Test
@@ -1,22 +1,45 @@
 package naneishvili.aleksandre.tasktrackerapi.service.impl;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.ProjectSummary;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.ProjectUpdateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.ProjectResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskStatsResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.Project;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
 import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
+import naneishvili.aleksandre.tasktrackerapi.exception.PreconditionFailedException;
 import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.exception.UnauthorizedException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.ProjectMapper;
+import naneishvili.aleksandre.tasktrackerapi.repository.ArchivedTaskRepository;
 import naneishvili.aleksandre.tasktrackerapi.repository.ProjectRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeadLetterRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.Outbox;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskChangeLog;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskCountCache;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskDueDates;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskEventStream;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskSearchIndex;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskStatistics;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +49,9 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +66,42 @@ class ProjectServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Mock
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Mock
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Mock
+    private TaskCountCache taskCountCache;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Mock
+    private TaskDueDates taskDueDates;
+
+    @Mock
+    private TaskEventStream taskEventStream;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private Outbox outbox;
+
     @InjectMocks
     private ProjectServiceImpl projectService;
 
@@ -49,6 +111,8 @@ class ProjectServiceImplTest {
     private User regularUser;
     private Project testProject;
     private Project anotherProject;
+    private ProjectSummary testProjectSummary;
+    private ProjectSummary anotherProjectSummary;
     private ProjectCreateRequest createRequest;
     private ProjectUpdateRequest updateRequest;
     private ProjectResponse projectResponse;
@@ -80,6 +144,7 @@ class ProjectServiceImplTest {
         testProject.setName("Test Project");
         testProject.setDescription("Test Description");
         testProject.setOwner(managerUser);
+        testProject.setVersion(0L);
 
         anotherProject = new Project();
         anotherProject.setId(2L);
@@ -87,6 +152,11 @@ class ProjectServiceImplTest {
         anotherProject.setDescription("Another Description");
         anotherProject.setOwner(anotherManager);
 
+        testProjectSummary = new ProjectSummary(1L, "Test Project", "Test Description", null, null, 0L,
+                2L, "manager@example.com", Role.MANAGER, null, null);
+        anotherProjectSummary = new ProjectSummary(2L, "Another Project", "Another Description", null, null, 0L,
+                3L, "another@example.com", Role.MANAGER, null, null);
+
         createRequest = new ProjectCreateRequest();
         createRequest.setName("New Project");
         createRequest.setDescription("New Description");
@@ -103,26 +173,26 @@ class ProjectServiceImplTest {
 
     @Test
     void createProject_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(projectMapper.toEntity(createRequest)).thenReturn(testProject);
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
         when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
+        when(taskChangeLog.next()).thenReturn(4L);
 
-        ProjectResponse result = projectService.createProject(createRequest, "admin@example.com");
+        ProjectResponse result = projectService.createProject(createRequest, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Test Project");
         verify(projectRepository).save(testProject);
+        verify(outbox).projectChanged(TaskEventType.CREATED, 1L, projectResponse, 4L);
     }
 
     @Test
     void createProject_AsManager_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(projectMapper.toEntity(createRequest)).thenReturn(testProject);
         when(projectRepository.save(any(Project.class))).thenReturn(testProject);
         when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
 
-        ProjectResponse result = projectService.createProject(createRequest, "manager@example.com");
+        ProjectResponse result = projectService.createProject(createRequest, currentUser(managerUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Test Project");
@@ -131,108 +201,182 @@ class ProjectServiceImplTest {
 
     @Test
     void createProject_AsUser_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
 
-        assertThatThrownBy(() -> projectService.createProject(createRequest, "user@example.com"))
+        assertThatThrownBy(() -> projectService.createProject(createRequest, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only MANAGER and ADMIN can create projects");
     }
 
     @Test
     void updateProject_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(projectRepository.save(testProject)).thenReturn(testProject);
+        when(projectRepository.saveAndFlush(testProject)).thenReturn(testProject);
         when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
 
-        ProjectResponse result = projectService.updateProject(1L, updateRequest, "admin@example.com");
+        ProjectResponse result = projectService.updateProject(1L, updateRequest, null, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         verify(projectMapper).updateEntity(updateRequest, testProject);
-        verify(projectRepository).save(testProject);
+        verify(projectRepository).saveAndFlush(testProject);
     }
 
     @Test
     void updateProject_AsOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
-        when(projectRepository.save(testProject)).thenReturn(testProject);
+        when(projectRepository.saveAndFlush(testProject)).thenReturn(testProject);
         when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
 
-        ProjectResponse result = projectService.updateProject(1L, updateRequest, "manager@example.com");
+        ProjectResponse result = projectService.updateProject(1L, updateRequest, null, currentUser(managerUser));
 
         assertThat(result).isNotNull();
         verify(projectMapper).updateEntity(updateRequest, testProject);
-        verify(projectRepository).save(testProject);
+        verify(projectRepository).saveAndFlush(testProject);
     }
 
     @Test
     void updateProject_AsNonOwnerManager_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherManager);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        assertThatThrownBy(() -> projectService.updateProject(1L, updateRequest, "another@example.com"))
+        assertThatThrownBy(() -> projectService.updateProject(1L, updateRequest, null, currentUser(anotherManager)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
     void updateProject_AsUser_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        assertThatThrownBy(() -> projectService.updateProject(1L, updateRequest, "user@example.com"))
+        assertThatThrownBy(() -> projectService.updateProject(1L, updateRequest, null, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
-    void deleteProject_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
+    void patchProject_DescriptionNull_ClearsDescriptionAndKeepsName() {
+        ProjectPatchRequest request = new ProjectPatchRequest();
+        request.setDescription(Optional.empty());
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.saveAndFlush(testProject)).thenAnswer(invocation -> {
+            testProject.setVersion(1L);
+            return testProject;
+        });
+
+        Long version = projectService.patchProject(1L, request, 0L, currentUser(managerUser));
+
+        assertThat(version).isEqualTo(1L);
+        assertThat(testProject.getName()).isEqualTo("Test Project");
+        assertThat(testProject.getDescription()).isNull();
+        verifyNoInteractions(projectMapper);
+    }
+
+    @Test
+    void patchProject_StaleIfMatchVersion_ThrowsPreconditionFailedException() {
+        ProjectPatchRequest request = new ProjectPatchRequest();
+        request.setName(Optional.of("Renamed"));
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        projectService.deleteProject(1L, "admin@example.com");
+        assertThatThrownBy(() -> projectService.patchProject(1L, request, 3L, currentUser(adminUser)))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(testProject.getName()).isEqualTo("Test Project");
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
+    }
 
-        verify(projectRepository).delete(testProject);
+    @Test
+    void deleteProject_AsAdmin_DeletesTasksInChunksThenProject() {
+        ReflectionTestUtils.setField(projectService, "deleteChunkSize", 2);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(taskRepository.countByProjectId(1L)).thenReturn(3L);
+        when(taskRepository.findIdsByProjectId(eq(1L), any(TaskFilter.class), eq(2)))
+                .thenReturn(List.of(10L, 11L))
+                .thenReturn(List.of(12L))
+                .thenReturn(List.of());
+        when(taskRepository.deleteByIdIn(anyList())).thenReturn(2, 1);
+        when(projectRepository.deleteProjectById(1L, 0L)).thenReturn(1);
+        when(taskChangeLog.next()).thenReturn(7L);
+
+        projectService.deleteProject(1L, null, currentUser(adminUser));
+
+        InOrder inOrder = inOrder(taskChangeLog, taskRepository, archivedTaskRepository, projectRepository);
+        inOrder.verify(taskChangeLog).tasksRemoved(List.of(10L, 11L), 7L);
+        inOrder.verify(taskRepository).deleteByIdIn(List.of(10L, 11L));
+        inOrder.verify(taskChangeLog).tasksRemoved(List.of(12L), 7L);
+        inOrder.verify(taskRepository).deleteByIdIn(List.of(12L));
+        inOrder.verify(archivedTaskRepository).deleteByProjectId(1L);
+        inOrder.verify(projectRepository).deleteProjectById(1L, 0L);
+        verify(webhookDeliveryRepository).deleteByProjectId(1L);
+        verify(webhookDeadLetterRepository).deleteByProjectId(1L);
+        verify(webhookSubscriptionRepository).deleteByProjectId(1L);
+        verify(projectRepository, never()).delete(any(Project.class));
+        verify(taskCountCache).projectDeleted(1L);
+        verify(taskStatistics).projectDeleted(1L);
+        verify(taskSearchIndex).projectRemoved(1L);
+        verify(taskDueDates).projectRemoved(1L);
+        verify(taskEventStream).projectDeleted(1L);
+        verify(outbox).projectChanged(TaskEventType.DELETED, 1L, null, 7L);
     }
 
     @Test
     void deleteProject_AsOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.deleteProjectById(1L, 0L)).thenReturn(1);
+
+        projectService.deleteProject(1L, 0L, currentUser(managerUser));
+
+        verify(projectRepository).deleteProjectById(1L, 0L);
+    }
+
+    @Test
+    void deleteProject_ConcurrentlyModified_ThrowsOptimisticLockingFailure() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
+        when(projectRepository.deleteProjectById(1L, 0L)).thenReturn(0);
+
+        assertThatThrownBy(() -> projectService.deleteProject(1L, null, currentUser(adminUser)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verify(taskCountCache, never()).projectDeleted(anyLong());
+    }
 
-        projectService.deleteProject(1L, "manager@example.com");
+    @Test
+    void deleteProject_StaleIfMatchVersion_ThrowsPreconditionFailedException() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        verify(projectRepository).delete(testProject);
+        assertThatThrownBy(() -> projectService.deleteProject(1L, 3L, currentUser(adminUser)))
+                .isInstanceOf(PreconditionFailedException.class);
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void deleteProject_AsNonOwnerManager_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherManager);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        assertThatThrownBy(() -> projectService.deleteProject(1L, "another@example.com"))
+        assertThatThrownBy(() -> projectService.deleteProject(1L, null, currentUser(anotherManager)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void deleteProject_AsUser_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        assertThatThrownBy(() -> projectService.deleteProject(1L, "user@example.com"))
+        assertThatThrownBy(() -> projectService.deleteProject(1L, null, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
+    @Test
+    void deleteProject_NotFound_ThrowsResourceNotFoundException() {
+        when(projectRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> projectService.deleteProject(999L, null, currentUser(adminUser)))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
     @Test
     void getProjectById_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
         when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
 
-        ProjectResponse result = projectService.getProjectById(1L, "admin@example.com");
+        ProjectResponse result = projectService.getProjectById(1L, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
@@ -240,11 +384,10 @@ class ProjectServiceImplTest {
 
     @Test
     void getProjectById_AsOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
         when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
 
-        ProjectResponse result = projectService.getProjectById(1L, "manager@example.com");
+        ProjectResponse result = projectService.getProjectById(1L, currentUser(managerUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
@@ -252,32 +395,77 @@ class ProjectServiceImplTest {
 
     @Test
     void getProjectById_AsNonOwnerManager_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherManager);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        assertThatThrownBy(() -> projectService.getProjectById(1L, "another@example.com"))
+        assertThatThrownBy(() -> projectService.getProjectById(1L, currentUser(anotherManager)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
+    @Test
+    void getProjectTaskStats_AsOwner_ReturnsCountersWithoutLoadingProject() {
+        TaskStatsResponse stats = new TaskStatsResponse();
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+        when(taskStatistics.projectStats(1L)).thenReturn(stats);
+
+        TaskStatsResponse result = projectService.getProjectTaskStats(1L, currentUser(managerUser));
+
+        assertThat(result).isSameAs(stats);
+        verify(projectRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getProjectTaskStats_AsNonOwnerManager_ThrowsUnauthorizedException() {
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        assertThatThrownBy(() -> projectService.getProjectTaskStats(1L, currentUser(anotherManager)))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(taskStatistics);
+    }
+
+    @Test
+    void subscribeToTaskEvents_AsOwner_SubscribesToProjectStream() {
+        SseEmitter emitter = new SseEmitter();
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+        when(taskEventStream.subscribe(1L)).thenReturn(emitter);
+
+        SseEmitter result = projectService.subscribeToTaskEvents(1L, currentUser(managerUser));
+
+        assertThat(result).isSameAs(emitter);
+    }
+
+    @Test
+    void subscribeToTaskEvents_AsNonOwnerManager_ThrowsUnauthorizedException() {
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        assertThatThrownBy(() -> projectService.subscribeToTaskEvents(1L, currentUser(anotherManager)))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(taskEventStream);
+    }
+
+    @Test
+    void getTaskStatsTotals_AsManager_ThrowsUnauthorizedException() {
+        assertThatThrownBy(() -> projectService.getTaskStatsTotals(currentUser(managerUser)))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(taskStatistics);
+    }
+
     @Test
     void getProjectById_AsUser_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(projectRepository.findById(1L)).thenReturn(Optional.of(testProject));
 
-        assertThatThrownBy(() -> projectService.getProjectById(1L, "user@example.com"))
+        assertThatThrownBy(() -> projectService.getProjectById(1L, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
     void getProjectsByOwner_ReturnsProjects() {
-        List<Project> projects = Arrays.asList(testProject);
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
-        when(projectRepository.findByOwner(managerUser)).thenReturn(projects);
-        when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
+        List<ProjectSummary> projects = Arrays.asList(testProjectSummary);
+        when(projectRepository.findSummariesByOwnerId(2L)).thenReturn(projects);
+        when(projectMapper.toResponse(testProjectSummary)).thenReturn(projectResponse);
 
-        List<ProjectResponse> result = projectService.getProjectsByOwner("manager@example.com");
+        List<ProjectResponse> result = projectService.getProjectsByOwner(currentUser(managerUser));
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Test Project");
@@ -285,47 +473,43 @@ class ProjectServiceImplTest {
 
     @Test
     void getProjectsByOwner_NoProjects_ReturnsEmptyList() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
-        when(projectRepository.findByOwner(managerUser)).thenReturn(Collections.emptyList());
+        when(projectRepository.findSummariesByOwnerId(2L)).thenReturn(Collections.emptyList());
 
-        List<ProjectResponse> result = projectService.getProjectsByOwner("manager@example.com");
+        List<ProjectResponse> result = projectService.getProjectsByOwner(currentUser(managerUser));
 
         assertThat(result).isEmpty();
     }
 
     @Test
     void getAllProjects_AsAdmin_ReturnsAllProjects() {
-        List<Project> allProjects = Arrays.asList(testProject, anotherProject);
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
-        when(projectRepository.findAll()).thenReturn(allProjects);
-        when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
-        when(projectMapper.toResponse(anotherProject)).thenReturn(new ProjectResponse());
+        List<ProjectSummary> allProjects = Arrays.asList(testProjectSummary, anotherProjectSummary);
+        when(projectRepository.findAllSummaries()).thenReturn(allProjects);
+        when(projectMapper.toResponse(testProjectSummary)).thenReturn(projectResponse);
+        when(projectMapper.toResponse(anotherProjectSummary)).thenReturn(new ProjectResponse());
 
-        List<ProjectResponse> result = projectService.getAllProjects("admin@example.com");
+        List<ProjectResponse> result = projectService.getAllProjects(currentUser(adminUser));
 
         assertThat(result).hasSize(2);
-        verify(projectRepository).findAll();
+        verify(projectRepository).findAllSummaries();
     }
 
     @Test
     void getAllProjects_AsManager_ReturnsOwnProjects() {
-        List<Project> ownProjects = Arrays.asList(testProject);
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
-        when(projectRepository.findByOwner(managerUser)).thenReturn(ownProjects);
-        when(projectMapper.toResponse(testProject)).thenReturn(projectResponse);
+        List<ProjectSummary> ownProjects = Arrays.asList(testProjectSummary);
+        when(projectRepository.findSummariesByOwnerId(2L)).thenReturn(ownProjects);
+        when(projectMapper.toResponse(testProjectSummary)).thenReturn(projectResponse);
 
-        List<ProjectResponse> result = projectService.getAllProjects("manager@example.com");
+        List<ProjectResponse> result = projectService.getAllProjects(currentUser(managerUser));
 
         assertThat(result).hasSize(1);
-        verify(projectRepository).findByOwner(managerUser);
-        verify(projectRepository, never()).findAll();
+        verify(projectRepository).findSummariesByOwnerId(2L);
+        verify(projectRepository, never()).findAllSummaries();
     }
 
     @Test
     void getAllProjects_AsUser_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
 
-        assertThatThrownBy(() -> projectService.getAllProjects("user@example.com"))
+        assertThatThrownBy(() -> projectService.getAllProjects(currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
@@ -348,4 +532,44 @@ class ProjectServiceImplTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Project not found");
     }
-}
\ No newline at end of file
+
+    @Test
+    void findEntitiesByIds_AllExist_ReturnsProjectsInOneQuery() {
+        when(projectRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(testProject, anotherProject));
+
+        List<Project> result = projectService.findEntitiesByIds(List.of(1L, 2L));
+
+        assertThat(result).containsExactly(testProject, anotherProject);
+    }
+
+    @Test
+    void findEntitiesByIds_SomeMissing_ThrowsResourceNotFoundException() {
+        when(projectRepository.findByIdIn(List.of(1L, 999L))).thenReturn(List.of(testProject));
+
+        assertThatThrownBy(() -> projectService.findEntitiesByIds(List.of(1L, 999L)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("[999]");
+    }
+
+    @Test
+    void findOwnerId_ProjectExists_ReturnsOwnerId() {
+        when(projectRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        Long result = projectService.findOwnerId(1L);
+
+        assertThat(result).isEqualTo(2L);
+    }
+
+    @Test
+    void findOwnerId_ProjectNotExists_ThrowsResourceNotFoundException() {
+        when(projectRepository.findOwnerIdById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> projectService.findOwnerId(999L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Project not found");
+    }
+
+    private CurrentUser currentUser(User user) {
+        return new CurrentUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
@@ -1,19 +1,47 @@
 package naneishvili.aleksandre.tasktrackerapi.service.impl;
 
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskAccess;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskChange;
+import naneishvili.aleksandre.tasktrackerapi.dto.projection.TaskSummary;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkAssignRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskBulkUpdateRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskFilter;
+import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskPatchRequest;
 import naneishvili.aleksandre.tasktrackerapi.dto.request.TaskUpdateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.CursorPageResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskBulkResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskChangeResponse;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskEventResponse;
 import naneishvili.aleksandre.tasktrackerapi.dto.response.TaskResponse;
 import naneishvili.aleksandre.tasktrackerapi.entity.Project;
 import naneishvili.aleksandre.tasktrackerapi.entity.Task;
 import naneishvili.aleksandre.tasktrackerapi.entity.User;
+import naneishvili.aleksandre.tasktrackerapi.enums.BulkOutcome;
 import naneishvili.aleksandre.tasktrackerapi.enums.Priority;
 import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.enums.TaskEventType;
 import naneishvili.aleksandre.tasktrackerapi.enums.TaskStatus;
+import naneishvili.aleksandre.tasktrackerapi.exception.BadRequestException;
+import naneishvili.aleksandre.tasktrackerapi.exception.GoneException;
+import naneishvili.aleksandre.tasktrackerapi.exception.PreconditionFailedException;
 import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.exception.UnauthorizedException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.TaskMapper;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskChangeCursor;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskCursor;
 import naneishvili.aleksandre.tasktrackerapi.repository.TaskRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.TaskTombstoneRepository;
+import naneishvili.aleksandre.tasktrackerapi.service.Outbox;
 import naneishvili.aleksandre.tasktrackerapi.service.ProjectService;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskChangeLog;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskCountCache;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskDueDates;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskEventStream;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskSearchIndex;
+import naneishvili.aleksandre.tasktrackerapi.service.TaskStatistics;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
 import naneishvili.aleksandre.tasktrackerapi.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,18 +49,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +93,30 @@ class TaskServiceImplTest {
     @Mock
     private ProjectService projectService;
 
+    @Mock
+    private TaskCountCache taskCountCache;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatistics taskStatistics;
+
+    @Mock
+    private TaskDueDates taskDueDates;
+
+    @Mock
+    private TaskEventStream taskEventStream;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Mock
+    private Outbox outbox;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -59,6 +126,7 @@ class TaskServiceImplTest {
     private User anotherUser;
     private Project testProject;
     private Task testTask;
+    private TaskSummary testTaskSummary;
     private TaskCreateRequest createRequest;
     private TaskUpdateRequest updateRequest;
     private TaskResponse taskResponse;
@@ -99,6 +167,13 @@ class TaskServiceImplTest {
         testTask.setAssignedUser(regularUser);
         testTask.setStatus(TaskStatus.TODO);
         testTask.setPriority(Priority.MEDIUM);
+        testTask.setVersion(2L);
+
+        testTaskSummary = new TaskSummary(1L, "Test Task", "Test Description", TaskStatus.TODO, null,
+                Priority.MEDIUM, null, null, 0L,
+                1L, "Test Project", null, null, null, 0L,
+                2L, "manager@example.com", Role.MANAGER, null, null,
+                3L, "user@example.com", Role.USER, null, null);
 
         createRequest = new TaskCreateRequest();
         createRequest.setTitle("New Task");
@@ -125,29 +200,28 @@ class TaskServiceImplTest {
 
     @Test
     void createTask_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(projectService.findEntityById(1L)).thenReturn(testProject);
         when(userService.findById(3L)).thenReturn(regularUser);
         when(taskMapper.toEntity(createRequest)).thenReturn(testTask);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.createTask(createRequest, "admin@example.com");
+        TaskResponse result = taskService.createTask(createRequest, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         verify(taskRepository).save(testTask);
+        verify(taskCountCache).taskCreated(1L, 3L);
     }
 
     @Test
     void createTask_AsManager_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(projectService.findEntityById(1L)).thenReturn(testProject);
         when(userService.findById(3L)).thenReturn(regularUser);
         when(taskMapper.toEntity(createRequest)).thenReturn(testTask);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.createTask(createRequest, "manager@example.com");
+        TaskResponse result = taskService.createTask(createRequest, currentUser(managerUser));
 
         assertThat(result).isNotNull();
         verify(taskRepository).save(testTask);
@@ -156,13 +230,12 @@ class TaskServiceImplTest {
     @Test
     void createTask_WithoutAssignedUser_Success() {
         createRequest.setAssignedUserId(null);
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(projectService.findEntityById(1L)).thenReturn(testProject);
         when(taskMapper.toEntity(createRequest)).thenReturn(testTask);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.createTask(createRequest, "manager@example.com");
+        TaskResponse result = taskService.createTask(createRequest, currentUser(managerUser));
 
         assertThat(result).isNotNull();
         verify(userService, never()).findById(anyLong());
@@ -175,147 +248,182 @@ class TaskServiceImplTest {
         anotherManager.setId(5L);
         anotherManager.setRole(Role.MANAGER);
 
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherManager);
         when(projectService.findEntityById(1L)).thenReturn(testProject);
 
-        assertThatThrownBy(() -> taskService.createTask(createRequest, "another@example.com"))
+        assertThatThrownBy(() -> taskService.createTask(createRequest, currentUser(anotherManager)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
     void createTask_AsUser_ThrowsUnauthorizedException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(projectService.findEntityById(1L)).thenReturn(testProject);
 
-        assertThatThrownBy(() -> taskService.createTask(createRequest, "user@example.com"))
+        assertThatThrownBy(() -> taskService.createTask(createRequest, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
+    @Test
+    void createTasks_ManyTasks_ChecksProjectAndLoadsAssigneesOnce() {
+        TaskCreateRequest unassignedRequest = new TaskCreateRequest();
+        unassignedRequest.setTitle("Unassigned Task");
+        unassignedRequest.setProjectId(1L);
+        TaskBulkCreateRequest bulkRequest = new TaskBulkCreateRequest();
+        bulkRequest.setTasks(Arrays.asList(createRequest, createRequest, unassignedRequest));
+        Task unassignedTask = new Task();
+        unassignedTask.setProject(testProject);
+
+        when(projectService.findEntitiesByIds(Set.of(1L))).thenReturn(List.of(testProject));
+        when(userService.findAllByIds(Set.of(3L))).thenReturn(List.of(regularUser));
+        when(taskMapper.toEntity(createRequest)).thenReturn(testTask);
+        when(taskMapper.toEntity(unassignedRequest)).thenReturn(unassignedTask);
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskMapper.toResponse(any(Task.class))).thenReturn(taskResponse);
+
+        List<TaskResponse> result = taskService.createTasks(bulkRequest, currentUser(managerUser));
+
+        assertThat(result).hasSize(3);
+        assertThat(unassignedTask.getAssignedUser()).isNull();
+        verify(projectService, never()).findEntityById(anyLong());
+        verify(userService, never()).findById(anyLong());
+        verify(taskCountCache, times(2)).taskCreated(1L, 3L);
+        verify(taskCountCache).taskCreated(1L, null);
+    }
+
+    @Test
+    void createTasks_ProjectOwnedByAnotherManager_ThrowsBeforeSaving() {
+        User anotherManager = new User();
+        anotherManager.setId(5L);
+        anotherManager.setRole(Role.MANAGER);
+        TaskBulkCreateRequest bulkRequest = new TaskBulkCreateRequest();
+        bulkRequest.setTasks(List.of(createRequest));
+
+        when(projectService.findEntitiesByIds(Set.of(1L))).thenReturn(List.of(testProject));
+
+        assertThatThrownBy(() -> taskService.createTasks(bulkRequest, currentUser(anotherManager)))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessageContaining("don't have permission to create tasks");
+        verify(taskRepository, never()).saveAllAndFlush(anyList());
+    }
+
     @Test
     void updateTask_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(userService.findById(4L)).thenReturn(anotherUser);
-        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.updateTask(1L, updateRequest, "admin@example.com");
+        TaskResponse result = taskService.updateTask(1L, updateRequest, null, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         verify(taskMapper).updateEntity(updateRequest, testTask);
-        verify(taskRepository).save(testTask);
+        verify(taskRepository).saveAndFlush(testTask);
     }
 
     @Test
     void updateTask_AsProjectOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(userService.findById(4L)).thenReturn(anotherUser);
-        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.updateTask(1L, updateRequest, "manager@example.com");
+        TaskResponse result = taskService.updateTask(1L, updateRequest, null, currentUser(managerUser));
 
         assertThat(result).isNotNull();
         verify(taskMapper).updateEntity(updateRequest, testTask);
-        verify(taskRepository).save(testTask);
+        verify(taskRepository).saveAndFlush(testTask);
     }
 
     @Test
     void updateTask_AsAssignedUser_OnlyStatusUpdate() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.updateTask(1L, updateRequest, "user@example.com");
+        TaskResponse result = taskService.updateTask(1L, updateRequest, null, currentUser(regularUser));
 
         assertThat(result).isNotNull();
         verify(taskMapper, never()).updateEntity(updateRequest, testTask);
-        verify(taskRepository).save(testTask);
+        verify(taskRepository).saveAndFlush(testTask);
     }
 
     @Test
     void updateTask_AsUnauthorizedUser_ThrowsException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        assertThatThrownBy(() -> taskService.updateTask(1L, updateRequest, "another@example.com"))
+        assertThatThrownBy(() -> taskService.updateTask(1L, updateRequest, null, currentUser(anotherUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
     void deleteTask_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(taskChangeLog.next()).thenReturn(9L);
 
-        taskService.deleteTask(1L, "admin@example.com");
+        taskService.deleteTask(1L, null, currentUser(adminUser));
 
         verify(taskRepository).delete(testTask);
+        verify(taskCountCache).taskDeleted(1L, 3L);
+        TaskEventResponse deleted = new TaskEventResponse(TaskEventType.DELETED, 1L, 1L, null, null);
+        verify(taskEventStream).publish(deleted);
+        verify(outbox).taskChanged(deleted, 9L);
     }
 
     @Test
     void deleteTask_AsProjectOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        taskService.deleteTask(1L, "manager@example.com");
+        taskService.deleteTask(1L, null, currentUser(managerUser));
 
         verify(taskRepository).delete(testTask);
     }
 
     @Test
     void deleteTask_AsUnauthorizedUser_ThrowsException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        assertThatThrownBy(() -> taskService.deleteTask(1L, "user@example.com"))
+        assertThatThrownBy(() -> taskService.deleteTask(1L, null, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
     void getTaskById_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.getTaskById(1L, "admin@example.com");
+        TaskResponse result = taskService.getTaskById(1L, currentUser(adminUser));
 
         assertThat(result).isNotNull();
     }
 
     @Test
     void getTaskById_AsProjectOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.getTaskById(1L, "manager@example.com");
+        TaskResponse result = taskService.getTaskById(1L, currentUser(managerUser));
 
         assertThat(result).isNotNull();
     }
 
     @Test
     void getTaskById_AsAssignedUser_Success() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.getTaskById(1L, "user@example.com");
+        TaskResponse result = taskService.getTaskById(1L, currentUser(regularUser));
 
         assertThat(result).isNotNull();
     }
 
     @Test
     void getTaskById_AsUnauthorizedUser_ThrowsException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        assertThatThrownBy(() -> taskService.getTaskById(1L, "another@example.com"))
+        assertThatThrownBy(() -> taskService.getTaskById(1L, currentUser(anotherUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
@@ -324,37 +432,36 @@ class TaskServiceImplTest {
     void getTaskById_TaskNotFound_ThrowsException() {
         when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> taskService.getTaskById(999L, "admin@example.com"))
+        assertThatThrownBy(() -> taskService.getTaskById(999L, currentUser(adminUser)))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Task not found");
     }
 
     @Test
     void assignTaskToUser_AsAdmin_Success() {
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(userService.findById(4L)).thenReturn(anotherUser);
-        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.assignTaskToUser(1L, 4L, "admin@example.com");
+        TaskResponse result = taskService.assignTaskToUser(1L, 4L, null, currentUser(adminUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).save(testTask);
+        verify(taskRepository).saveAndFlush(testTask);
+        verify(taskCountCache).taskReassigned(3L, 4L);
     }
 
     @Test
     void assignTaskToUser_AsProjectOwner_Success() {
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
         when(userService.findById(4L)).thenReturn(anotherUser);
-        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.assignTaskToUser(1L, 4L, "manager@example.com");
+        TaskResponse result = taskService.assignTaskToUser(1L, 4L, null, currentUser(managerUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).save(testTask);
+        verify(taskRepository).saveAndFlush(testTask);
     }
 
     @Test
@@ -363,97 +470,168 @@ class TaskServiceImplTest {
         anotherManager.setId(5L);
         anotherManager.setRole(Role.MANAGER);
 
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherManager);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        assertThatThrownBy(() -> taskService.assignTaskToUser(1L, 4L, "another@example.com"))
+        assertThatThrownBy(() -> taskService.assignTaskToUser(1L, 4L, null, currentUser(anotherManager)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("can only assign tasks from your own projects");
     }
 
     @Test
     void assignTaskToUser_AsUser_ThrowsException() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
 
-        assertThatThrownBy(() -> taskService.assignTaskToUser(1L, 4L, "user@example.com"))
+        assertThatThrownBy(() -> taskService.assignTaskToUser(1L, 4L, null, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only MANAGER and ADMIN can assign tasks");
     }
 
     @Test
     void updateTaskStatus_AsAssignedUser_Success() {
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
-        when(taskRepository.save(testTask)).thenReturn(testTask);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
         when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
 
-        TaskResponse result = taskService.updateTaskStatus(1L, TaskStatus.DONE, "user@example.com");
+        TaskResponse result = taskService.updateTaskStatus(1L, TaskStatus.DONE, null, currentUser(regularUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).save(testTask);
+        verify(taskRepository).saveAndFlush(testTask);
+        verify(taskStatistics).taskChanged(1L, TaskStatus.TODO, Priority.MEDIUM, TaskStatus.DONE, Priority.MEDIUM);
+        verify(taskEventStream).publish(new TaskEventResponse(TaskEventType.STATUS_CHANGED, 1L, 1L,
+                testTask.getVersion(), taskResponse));
+    }
+
+    @Test
+    void updateTaskStatus_StaleIfMatchVersion_ThrowsPreconditionFailedException() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+
+        assertThatThrownBy(() -> taskService.updateTaskStatus(1L, TaskStatus.DONE, 1L, currentUser(regularUser)))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("version 2");
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void updateTask_MatchingIfMatchVersion_Success() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(userService.findById(4L)).thenReturn(anotherUser);
+        when(taskRepository.saveAndFlush(testTask)).thenReturn(testTask);
+        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+
+        TaskResponse result = taskService.updateTask(1L, updateRequest, 2L, currentUser(managerUser));
+
+        assertThat(result).isNotNull();
+    }
+
+    @Test
+    void deleteTask_StaleIfMatchVersion_ThrowsPreconditionFailedException() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+
+        assertThatThrownBy(() -> taskService.deleteTask(1L, 5L, currentUser(adminUser)))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).delete(any(Task.class));
     }
 
     @Test
     void updateTaskStatus_TaskNotAssigned_ThrowsException() {
         testTask.setAssignedUser(null);
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        assertThatThrownBy(() -> taskService.updateTaskStatus(1L, TaskStatus.DONE, "user@example.com"))
+        assertThatThrownBy(() -> taskService.updateTaskStatus(1L, TaskStatus.DONE, null, currentUser(regularUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only assigned user can update task status");
     }
 
     @Test
     void updateTaskStatus_AsNonAssignedUser_ThrowsException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherUser);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
 
-        assertThatThrownBy(() -> taskService.updateTaskStatus(1L, TaskStatus.DONE, "another@example.com"))
+        assertThatThrownBy(() -> taskService.updateTaskStatus(1L, TaskStatus.DONE, null, currentUser(anotherUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("Only assigned user can update task status");
     }
 
     @Test
     void getTasksByProject_AsAdmin_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
-        when(projectService.findEntityById(1L)).thenReturn(testProject);
-        when(taskRepository.findTasksByProjectId(1L, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findSummarySliceByProjectId(1L, filter(null, null), pageable)).thenReturn(taskPage);
+        when(taskCountCache.countByProject(1L)).thenReturn(1L);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByProject(1L, null, null, pageable, "admin@example.com");
+        Page<TaskResponse> result = taskService.getTasksByProject(1L, filter(null, null), pageable, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(taskRepository, never()).findSummariesByProjectId(any(), any(), any());
     }
 
     @Test
     void getTasksByProject_WithStatusFilter_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
-        when(projectService.findEntityById(1L)).thenReturn(testProject);
-        when(taskRepository.findTasksByProjectIdAndStatus(1L, TaskStatus.TODO, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findSummariesByProjectId(1L, filter(TaskStatus.TODO, null), pageable)).thenReturn(taskPage);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByProject(1L, TaskStatus.TODO, null, pageable, "manager@example.com");
+        Page<TaskResponse> result = taskService.getTasksByProject(1L, filter(TaskStatus.TODO, null), pageable, currentUser(managerUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).findTasksByProjectIdAndStatus(1L, TaskStatus.TODO, pageable);
+        verify(taskRepository).findSummariesByProjectId(1L, filter(TaskStatus.TODO, null), pageable);
     }
 
     @Test
     void getTasksByProject_WithPriorityFilter_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("manager@example.com")).thenReturn(managerUser);
-        when(projectService.findEntityById(1L)).thenReturn(testProject);
-        when(taskRepository.findTasksByProjectIdAndPriority(1L, Priority.HIGH, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findSummariesByProjectId(1L, filter(null, Priority.HIGH), pageable)).thenReturn(taskPage);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByProject(1L, null, Priority.HIGH, pageable, "manager@example.com");
+        Page<TaskResponse> result = taskService.getTasksByProject(1L, filter(null, Priority.HIGH), pageable, currentUser(managerUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).findTasksByProjectIdAndPriority(1L, Priority.HIGH, pageable);
+        verify(taskRepository).findSummariesByProjectId(1L, filter(null, Priority.HIGH), pageable);
+    }
+
+    @Test
+    void getTasksByProject_WithCombinedFilter_PassesWholeFilterToRepository() {
+        TaskFilter filter = filter(TaskStatus.TODO, Priority.HIGH);
+        filter.getStatus().add(TaskStatus.IN_PROGRESS);
+        filter.setUnassigned(true);
+        filter.setDueFrom(LocalDate.of(2026, 1, 1));
+        filter.setDueTo(LocalDate.of(2026, 1, 31));
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findSummariesByProjectId(1L, filter, pageable)).thenReturn(taskPage);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        Page<TaskResponse> result = taskService.getTasksByProject(1L, filter, pageable, currentUser(managerUser));
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(taskRepository).findSummariesByProjectId(1L, filter, pageable);
+    }
+
+    @Test
+    void getTasksByProject_DueFromAfterDueTo_ThrowsBadRequestException() {
+        TaskFilter filter = filter(null, null);
+        filter.setDueFrom(LocalDate.of(2026, 2, 1));
+        filter.setDueTo(LocalDate.of(2026, 1, 1));
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> taskService.getTasksByProject(1L, filter, pageable, currentUser(managerUser)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("dueFrom");
+    }
+
+    @Test
+    void getTasksByProject_UnassignedWithAssignee_ThrowsBadRequestException() {
+        TaskFilter filter = filter(null, null);
+        filter.setUnassigned(true);
+        filter.setAssignedUserId(3L);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> taskService.getTasksByProject(1L, filter, pageable, currentUser(managerUser)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("unassigned");
     }
 
     @Test
@@ -462,22 +640,21 @@ class TaskServiceImplTest {
         anotherManager.setId(5L);
         anotherManager.setRole(Role.MANAGER);
 
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherManager);
-        when(projectService.findEntityById(1L)).thenReturn(testProject);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
 
-        assertThatThrownBy(() -> taskService.getTasksByProject(1L, null, null, pageable, "another@example.com"))
+        assertThatThrownBy(() -> taskService.getTasksByProject(1L, filter(null, null), pageable, currentUser(anotherManager)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("don't have permission");
     }
 
     @Test
     void getTasksByAssignedUser_AsAdmin_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("admin@example.com")).thenReturn(adminUser);
-        when(taskRepository.findTasksByAssignedUserId(3L, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(taskRepository.findSummarySliceByAssignedUserId(3L, filter(null, null), pageable)).thenReturn(taskPage);
+        when(taskCountCache.countByAssignedUser(3L)).thenReturn(1L);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, null, null, pageable, "admin@example.com");
+        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, filter(null, null), pageable, currentUser(adminUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
@@ -485,12 +662,12 @@ class TaskServiceImplTest {
 
     @Test
     void getTasksByAssignedUser_AsOwnUser_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
-        when(taskRepository.findTasksByAssignedUserId(3L, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(taskRepository.findSummarySliceByAssignedUserId(3L, filter(null, null), pageable)).thenReturn(taskPage);
+        when(taskCountCache.countByAssignedUser(3L)).thenReturn(1L);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, null, null, pageable, "user@example.com");
+        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, filter(null, null), pageable, currentUser(regularUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
@@ -498,49 +675,431 @@ class TaskServiceImplTest {
 
     @Test
     void getTasksByAssignedUser_WithStatusFilter_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
-        when(taskRepository.findTasksByAssignedUserIdAndStatus(3L, TaskStatus.TODO, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(taskRepository.findSummariesByAssignedUserId(3L, filter(TaskStatus.TODO, null), pageable)).thenReturn(taskPage);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, TaskStatus.TODO, null, pageable, "user@example.com");
+        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, filter(TaskStatus.TODO, null), pageable, currentUser(regularUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).findTasksByAssignedUserIdAndStatus(3L, TaskStatus.TODO, pageable);
+        verify(taskRepository).findSummariesByAssignedUserId(3L, filter(TaskStatus.TODO, null), pageable);
     }
 
     @Test
     void getTasksByAssignedUser_WithPriorityFilter_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
-        when(taskRepository.findTasksByAssignedUserIdAndPriority(3L, Priority.HIGH, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(taskRepository.findSummariesByAssignedUserId(3L, filter(null, Priority.HIGH), pageable)).thenReturn(taskPage);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, null, Priority.HIGH, pageable, "user@example.com");
+        Page<TaskResponse> result = taskService.getTasksByAssignedUser(3L, filter(null, Priority.HIGH), pageable, currentUser(regularUser));
 
         assertThat(result).isNotNull();
-        verify(taskRepository).findTasksByAssignedUserIdAndPriority(3L, Priority.HIGH, pageable);
+        verify(taskRepository).findSummariesByAssignedUserId(3L, filter(null, Priority.HIGH), pageable);
     }
 
     @Test
     void getTasksByAssignedUser_AsUnauthorizedUser_ThrowsException() {
-        when(userService.findByEmail("another@example.com")).thenReturn(anotherUser);
 
-        assertThatThrownBy(() -> taskService.getTasksByAssignedUser(3L, null, null, pageable, "another@example.com"))
+        assertThatThrownBy(() -> taskService.getTasksByAssignedUser(3L, filter(null, null), pageable, currentUser(anotherUser)))
                 .isInstanceOf(UnauthorizedException.class)
                 .hasMessageContaining("You can only view your own assigned tasks");
     }
 
     @Test
     void getMyAssignedTasks_Success() {
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(testTask));
-        when(userService.findByEmail("user@example.com")).thenReturn(regularUser);
-        when(taskRepository.findTasksByAssignedUserId(3L, pageable)).thenReturn(taskPage);
-        when(taskMapper.toResponse(testTask)).thenReturn(taskResponse);
+        Page<TaskSummary> taskPage = new PageImpl<>(Arrays.asList(testTaskSummary));
+        when(taskRepository.findSummarySliceByAssignedUserId(3L, filter(null, null), pageable)).thenReturn(taskPage);
+        when(taskCountCache.countByAssignedUser(3L)).thenReturn(1L);
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
 
-        Page<TaskResponse> result = taskService.getMyAssignedTasks(null, null, pageable, "user@example.com");
+        Page<TaskResponse> result = taskService.getMyAssignedTasks(filter(null, null), pageable, currentUser(regularUser));
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTaskSliceByProject_WithFilter_SkipsCountEntirely() {
+        TaskFilter filter = filter(TaskStatus.TODO, null);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findSummarySliceByProjectId(1L, filter, pageable))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testTaskSummary), pageable, true));
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        Slice<TaskResponse> result = taskService.getTaskSliceByProject(1L, filter, pageable, currentUser(managerUser));
+
+        assertThat(result.getContent()).containsExactly(taskResponse);
+        assertThat(result.hasNext()).isTrue();
+        verifyNoInteractions(taskCountCache);
+    }
+
+    @Test
+    void scrollTasksByProject_MorePagesAvailable_ReturnsNextCursorAfterLastTask() {
+        TaskFilter filter = filter(null, null);
+        TaskCursor first = TaskCursor.first(pageable.getSort());
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.scrollSummariesByProjectId(1L, filter, first, pageable.getPageSize()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testTaskSummary), pageable, true));
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        CursorPageResponse<TaskResponse> result = taskService.scrollTasksByProject(1L, filter, "", pageable,
+                currentUser(managerUser));
+
+        assertThat(result.getContent()).containsExactly(taskResponse);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(TaskCursor.decode(result.getNextCursor()).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void scrollMyAssignedTasks_LastPage_ReturnsNoNextCursor() {
+        TaskFilter filter = filter(null, null);
+        TaskCursor position = new TaskCursor("id", Sort.Direction.ASC, 7L, 7L);
+        when(taskRepository.scrollSummariesByAssignedUserId(3L, filter, position, pageable.getPageSize()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testTaskSummary), pageable, false));
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        CursorPageResponse<TaskResponse> result = taskService.scrollMyAssignedTasks(filter, position.encode(), pageable,
+                currentUser(regularUser));
+
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void scrollTasksByAssignedUser_MalformedCursor_ThrowsBadRequestException() {
+        assertThatThrownBy(() -> taskService.scrollTasksByAssignedUser(3L, filter(null, null), "%%%", pageable,
+                currentUser(regularUser)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void getTasksByProject_IncludeArchived_ListsUnionInsteadOfCachedCount() {
+        TaskFilter filter = new TaskFilter();
+        filter.setIncludeArchived(true);
+        Pageable sorted = PageRequest.of(0, 10, Sort.by("title"));
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findSummariesIncludingArchivedByProjectId(1L, filter, sorted))
+                .thenReturn(new PageImpl<>(List.of(testTaskSummary), sorted, 1));
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        Page<TaskResponse> result = taskService.getTasksByProject(1L, filter, sorted, currentUser(managerUser));
+
+        assertThat(result.getContent()).containsExactly(taskResponse);
+        verifyNoInteractions(taskCountCache);
+    }
+
+    @Test
+    void getTasksByProject_IncludeArchivedSortedByProjectName_ThrowsBadRequestException() {
+        TaskFilter filter = new TaskFilter();
+        filter.setIncludeArchived(true);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> taskService.getTasksByProject(1L, filter,
+                PageRequest.of(0, 10, Sort.by("project.name")), currentUser(managerUser)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void scrollTasksByProject_IncludeArchived_ThrowsBadRequestException() {
+        TaskFilter filter = new TaskFilter();
+        filter.setIncludeArchived(true);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> taskService.scrollTasksByProject(1L, filter, null, pageable,
+                currentUser(managerUser)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("includeArchived");
+    }
+
+    @Test
+    void updateTasks_MixedIds_ChecksEachProjectOnceAndUpdatesInOneStatement() {
+        TaskBulkUpdateRequest request = new TaskBulkUpdateRequest();
+        request.setTaskIds(List.of(10L, 11L, 12L, 13L));
+        request.setStatus(TaskStatus.DONE);
+        when(taskRepository.findAccessByIdIn(Set.of(10L, 11L, 12L, 13L))).thenReturn(List.of(
+                new TaskAccess(10L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 0L),
+                new TaskAccess(11L, 1L, 2L, null, TaskStatus.TODO, Priority.MEDIUM, 0L),
+                new TaskAccess(12L, 5L, 9L, 4L, TaskStatus.TODO, Priority.MEDIUM, 0L)));
+        when(taskRepository.updateStatusAndPriority(List.of(10L, 11L), TaskStatus.DONE, null, 0L)).thenReturn(2);
+
+        TaskBulkResponse result = taskService.updateTasks(request, currentUser(managerUser));
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(TaskBulkResponse.Result::getOutcome)
+                .containsExactly(BulkOutcome.UPDATED, BulkOutcome.UPDATED, BulkOutcome.FORBIDDEN, BulkOutcome.NOT_FOUND);
+        verify(taskRepository, times(1)).updateStatusAndPriority(anyList(), any(), any(), anyLong());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskStatistics, times(2)).taskChanged(1L, TaskStatus.TODO, Priority.MEDIUM,
+                TaskStatus.DONE, Priority.MEDIUM);
+    }
+
+    @Test
+    void updateTasks_AsAssignedUserChangingPriority_ReportsForbidden() {
+        TaskBulkUpdateRequest request = new TaskBulkUpdateRequest();
+        request.setTaskIds(List.of(10L));
+        request.setPriority(Priority.HIGH);
+        when(taskRepository.findAccessByIdIn(Set.of(10L))).thenReturn(List.of(new TaskAccess(10L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 0L)));
+
+        TaskBulkResponse result = taskService.updateTasks(request, currentUser(regularUser));
+
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getResults()).extracting(TaskBulkResponse.Result::getOutcome)
+                .containsExactly(BulkOutcome.FORBIDDEN);
+        verify(taskRepository, never()).updateStatusAndPriority(anyList(), any(), any(), anyLong());
+    }
+
+    @Test
+    void updateTasks_ByProjectFilter_UpdatesMatchingIds() {
+        TaskBulkUpdateRequest request = new TaskBulkUpdateRequest();
+        request.setProjectId(1L);
+        request.setFilter(filter(TaskStatus.TODO, null));
+        request.setPriority(Priority.LOW);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(taskRepository.findIdsByProjectId(1L, filter(TaskStatus.TODO, null), 10001)).thenReturn(List.of(10L, 11L));
+        when(taskRepository.findAccessByIdIn(Set.of(10L, 11L))).thenReturn(List.of(
+                new TaskAccess(10L, 1L, 2L, null, TaskStatus.TODO, Priority.MEDIUM, 0L),
+                new TaskAccess(11L, 1L, 2L, null, TaskStatus.TODO, Priority.MEDIUM, 0L)));
+        when(taskRepository.updateStatusAndPriority(List.of(10L, 11L), null, Priority.LOW, 0L)).thenReturn(2);
+
+        TaskBulkResponse result = taskService.updateTasks(request, currentUser(managerUser));
+
+        assertThat(result.getUpdated()).isEqualTo(2);
+    }
+
+    @Test
+    void updateTasks_WithoutChanges_ThrowsBadRequestException() {
+        TaskBulkUpdateRequest request = new TaskBulkUpdateRequest();
+        request.setTaskIds(List.of(10L));
+
+        assertThatThrownBy(() -> taskService.updateTasks(request, currentUser(adminUser)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Either status or priority is required");
+    }
+
+    @Test
+    void assignTasks_AsManager_AssignsOwnedTasksAndAdjustsCounts() {
+        TaskBulkAssignRequest request = new TaskBulkAssignRequest();
+        request.setTaskIds(List.of(10L, 12L));
+        request.setUserId(4L);
+        when(userService.findById(4L)).thenReturn(anotherUser);
+        when(taskRepository.findAccessByIdIn(Set.of(10L, 12L))).thenReturn(List.of(
+                new TaskAccess(10L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 0L),
+                new TaskAccess(12L, 5L, 9L, 3L, TaskStatus.TODO, Priority.MEDIUM, 0L)));
+        when(taskChangeLog.next()).thenReturn(7L);
+        when(taskRepository.updateAssignedUser(List.of(10L), 4L, 7L)).thenReturn(1);
+
+        TaskBulkResponse result = taskService.assignTasks(request, currentUser(managerUser));
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(TaskBulkResponse.Result::getOutcome)
+                .containsExactly(BulkOutcome.UPDATED, BulkOutcome.FORBIDDEN);
+        verify(taskCountCache).taskReassigned(3L, 4L);
+        verifyNoMoreInteractions(taskCountCache);
+        verify(taskChangeLog).taskReassigned(10L, 2L, 3L, 4L, 7L);
+        verify(taskEventStream).publish(new TaskEventResponse(TaskEventType.ASSIGNED, 1L, 10L, 1L, null));
+        verifyNoMoreInteractions(taskEventStream);
+    }
+
+    @Test
+    void assignTasks_AsRegularUser_ThrowsUnauthorizedException() {
+        TaskBulkAssignRequest request = new TaskBulkAssignRequest();
+        request.setTaskIds(List.of(10L));
+        request.setUserId(4L);
+
+        assertThatThrownBy(() -> taskService.assignTasks(request, currentUser(regularUser)))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchTask_StatusOnlyAsAssignedUser_UpdatesOneColumnWithoutLoadingTask() {
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setStatus(Optional.of(TaskStatus.DONE));
+        when(taskRepository.findAccessById(1L)).thenReturn(Optional.of(
+                new TaskAccess(1L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 2L)));
+        when(taskRepository.updateAttributes(1L, 2L, Map.of("status", TaskStatus.DONE, "changeSeq", 0L))).thenReturn(1);
+
+        Long version = taskService.patchTask(1L, request, 2L, currentUser(regularUser));
+
+        assertThat(version).isEqualTo(3L);
+        verify(taskStatistics).taskChanged(1L, TaskStatus.TODO, Priority.MEDIUM, TaskStatus.DONE, Priority.MEDIUM);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void patchTask_NullFieldsAsManager_ClearsThemAndUnassigns() {
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setDescription(Optional.empty());
+        request.setAssignedUserId(Optional.empty());
+        when(taskRepository.findAccessById(1L)).thenReturn(Optional.of(
+                new TaskAccess(1L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 0L)));
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("description", null);
+        changes.put("assignedUser", null);
+        changes.put("changeSeq", 0L);
+        when(taskRepository.updateAttributes(1L, 0L, changes)).thenReturn(1);
+
+        taskService.patchTask(1L, request, null, currentUser(managerUser));
+
+        verify(taskCountCache).taskReassigned(3L, null);
+        verify(taskChangeLog).taskReassigned(1L, 2L, 3L, null, 0L);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void patchTask_TitleAsAssignedUser_ThrowsUnauthorizedException() {
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setTitle(Optional.of("Renamed"));
+        when(taskRepository.findAccessById(1L)).thenReturn(Optional.of(
+                new TaskAccess(1L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 0L)));
+
+        assertThatThrownBy(() -> taskService.patchTask(1L, request, null, currentUser(regularUser)))
+                .isInstanceOf(UnauthorizedException.class);
+        verify(taskRepository, never()).updateAttributes(anyLong(), anyLong(), anyMap());
+    }
+
+    @Test
+    void patchTask_StaleIfMatchVersion_ThrowsPreconditionFailedException() {
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setPriority(Optional.of(Priority.HIGH));
+        when(taskRepository.findAccessById(1L)).thenReturn(Optional.of(
+                new TaskAccess(1L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 4L)));
+
+        assertThatThrownBy(() -> taskService.patchTask(1L, request, 3L, currentUser(adminUser)))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).updateAttributes(anyLong(), anyLong(), anyMap());
+    }
+
+    @Test
+    void patchTask_ConcurrentWriteWins_ThrowsOptimisticLockingFailure() {
+        TaskPatchRequest request = new TaskPatchRequest();
+        request.setPriority(Optional.of(Priority.HIGH));
+        when(taskRepository.findAccessById(1L)).thenReturn(Optional.of(
+                new TaskAccess(1L, 1L, 2L, 3L, TaskStatus.TODO, Priority.MEDIUM, 4L)));
+        when(taskRepository.updateAttributes(1L, 4L, Map.of("priority", Priority.HIGH, "changeSeq", 0L))).thenReturn(0);
+
+        assertThatThrownBy(() -> taskService.patchTask(1L, request, null, currentUser(adminUser)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void searchTasks_IndexHitsDeletedOrReassigned_ReturnsOnlyVisibleRowsInIndexOrder() {
+        TaskSummary other = new TaskSummary(2L, "Test Task", null, TaskStatus.TODO, null,
+                Priority.MEDIUM, null, null, 0L,
+                1L, "Test Project", null, null, null, 0L,
+                1L, "admin@example.com", Role.ADMIN, null, null,
+                4L, "another@example.com", Role.USER, null, null);
+        when(taskSearchIndex.search("test", currentUser(regularUser), 0, 11)).thenReturn(List.of(2L, 1L, 5L));
+        when(taskRepository.findSummariesByIdIn(List.of(2L, 1L, 5L))).thenReturn(List.of(testTaskSummary, other));
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        Slice<TaskResponse> result = taskService.searchTasks("test", pageable, currentUser(regularUser));
+
+        assertThat(result.getContent()).containsExactly(taskResponse);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void searchTasks_BlankQuery_ThrowsBadRequestException() {
+        assertThatThrownBy(() -> taskService.searchTasks(" ", pageable, currentUser(adminUser)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(taskSearchIndex, taskRepository);
+    }
+
+    @Test
+    void getOverdueTasks_RowsChangedSinceIndexed_ReturnsOnlyStillOverdueRows() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        TaskSummary overdue = new TaskSummary(1L, "Test Task", null, TaskStatus.TODO, yesterday,
+                Priority.MEDIUM, null, null, 0L,
+                1L, "Test Project", null, null, null, 0L,
+                2L, "manager@example.com", Role.MANAGER, null, null,
+                3L, "user@example.com", Role.USER, null, null);
+        TaskSummary finished = new TaskSummary(2L, "Test Task", null, TaskStatus.DONE, yesterday,
+                Priority.MEDIUM, null, null, 0L,
+                1L, "Test Project", null, null, null, 0L,
+                2L, "manager@example.com", Role.MANAGER, null, null,
+                3L, "user@example.com", Role.USER, null, null);
+        when(taskDueDates.overdue(currentUser(managerUser), LocalDate.now(), 0, 11)).thenReturn(List.of(1L, 2L));
+        when(taskRepository.findSummariesByIdIn(List.of(1L, 2L))).thenReturn(List.of(finished, overdue));
+        when(taskMapper.toResponse(overdue)).thenReturn(taskResponse);
+
+        Slice<TaskResponse> result = taskService.getOverdueTasks(pageable, currentUser(managerUser));
+
+        assertThat(result.getContent()).containsExactly(taskResponse);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void getTaskChanges_AsAssignee_MergesWritesAndTombstonesAndSkipsTasksGoneSincePicked() {
+        when(taskChangeLog.isExpired(any(Instant.class))).thenReturn(false);
+        when(taskChangeLog.stable()).thenReturn(9L);
+        when(taskRepository.findChangesForUserAfter(3L, 0L, 0L, 9L, Limit.of(11))).thenReturn(List.of(
+                new TaskChange(1L, 5L, false), new TaskChange(2L, 7L, false)));
+        when(taskTombstoneRepository.findChangesForUserAfter(3L, 0L, 0L, 9L, Limit.of(11))).thenReturn(List.of(
+                new TaskChange(3L, 6L, true)));
+        when(taskRepository.findSummariesByIdIn(List.of(1L, 2L))).thenReturn(List.of(testTaskSummary));
+        when(taskMapper.toResponse(testTaskSummary)).thenReturn(taskResponse);
+
+        CursorPageResponse<TaskChangeResponse> result = taskService.getTaskChanges(null, pageable,
+                currentUser(regularUser));
+
+        assertThat(result.getContent()).containsExactly(
+                new TaskChangeResponse(1L, false, taskResponse), new TaskChangeResponse(3L, true, null));
+        assertThat(result.isHasNext()).isFalse();
+        TaskChangeCursor next = TaskChangeCursor.decode(result.getNextCursor());
+        assertThat(next.getChangeSeq()).isEqualTo(7L);
+        assertThat(next.getTaskId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getTaskChanges_NothingNew_ReturnsSamePositionReissued() {
+        TaskChangeCursor since = new TaskChangeCursor(7L, 2L, Instant.now().minusSeconds(60));
+        when(taskChangeLog.isExpired(any(Instant.class))).thenReturn(false);
+        when(taskChangeLog.stable()).thenReturn(7L);
+
+        CursorPageResponse<TaskChangeResponse> result = taskService.getTaskChanges(since.encode(), pageable,
+                currentUser(adminUser));
+
+        assertThat(result.getContent()).isEmpty();
+        TaskChangeCursor next = TaskChangeCursor.decode(result.getNextCursor());
+        assertThat(next.getChangeSeq()).isEqualTo(7L);
+        assertThat(next.getTaskId()).isEqualTo(2L);
+        assertThat(next.getIssuedAt()).isAfter(since.getIssuedAt());
+        verify(taskRepository).findChangesAfter(7L, 2L, 7L, Limit.of(11));
+        verify(taskRepository, never()).findSummariesByIdIn(anyList());
+    }
+
+    @Test
+    void getTaskChanges_ExpiredCursor_ThrowsGoneException() {
+        String since = new TaskChangeCursor(7L, 2L, Instant.now().minus(Duration.ofDays(60))).encode();
+        when(taskChangeLog.isExpired(any(Instant.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.getTaskChanges(since, pageable, currentUser(adminUser)))
+                .isInstanceOf(GoneException.class);
+        verifyNoInteractions(taskRepository, taskTombstoneRepository);
+    }
+
+    @Test
+    void getTaskChanges_MalformedCursor_ThrowsBadRequestException() {
+        assertThatThrownBy(() -> taskService.getTaskChanges("bm9wZQ", pageable, currentUser(adminUser)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private TaskFilter filter(TaskStatus status, Priority priority) {
+        TaskFilter filter = new TaskFilter();
+        if (status != null) {
+            filter.setStatus(EnumSet.of(status));
+        }
+        if (priority != null) {
+            filter.setPriority(EnumSet.of(priority));
+        }
+        return filter;
+    }
+
+    private CurrentUser currentUser(User user) {
+        return new CurrentUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
@@ -8,13 +8,14 @@ import naneishvili.aleksandre.tasktrackerapi.exception.BadRequestException;
 import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
 import naneishvili.aleksandre.tasktrackerapi.mapper.UserMapper;
 import naneishvili.aleksandre.tasktrackerapi.repository.UserRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,7 +25,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +40,7 @@ class UserServiceImplTest {
     private UserMapper userMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -69,7 +72,7 @@ class UserServiceImplTest {
     void registerUser_Success() {
         when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(userMapper.toEntity(registrationRequest)).thenReturn(testUser);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(userMapper.toResponse(testUser)).thenReturn(userResponse);
 
@@ -77,9 +80,10 @@ class UserServiceImplTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getEmail()).isEqualTo("test@example.com");
-        verify(userRepository).existsByEmail("test@example.com");
-        verify(passwordEncoder).encode("password");
-        verify(userRepository).save(testUser);
+        InOrder inOrder = inOrder(userRepository, passwordHasher);
+        inOrder.verify(userRepository).existsByEmail("test@example.com");
+        inOrder.verify(passwordHasher).encode("password");
+        inOrder.verify(userRepository).save(testUser);
     }
 
     @Test
@@ -89,6 +93,7 @@ class UserServiceImplTest {
         assertThatThrownBy(() -> userService.registerUser(registrationRequest))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("already exists");
+        verifyNoInteractions(passwordHasher);
     }
 
     @Test
@@ -129,6 +134,15 @@ class UserServiceImplTest {
                 .hasMessageContaining("User not found");
     }
 
+    @Test
+    void findAllByIds_SomeUsersMissing_ThrowsWithMissingIds() {
+        when(userRepository.findAllById(List.of(1L, 999L))).thenReturn(List.of(testUser));
+
+        assertThatThrownBy(() -> userService.findAllByIds(List.of(1L, 999L)))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("[999]");
+    }
+
     @Test
     void getAllUsers_ReturnsUserList() {
         List<User> users = Arrays.asList(testUser);
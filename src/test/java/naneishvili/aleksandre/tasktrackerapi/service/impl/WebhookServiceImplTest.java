@@ -0,0 +1,134 @@
+package naneishvili.aleksandre.tasktrackerapi.service.impl;
+
+import naneishvili.aleksandre.tasktrackerapi.dto.request.WebhookCreateRequest;
+import naneishvili.aleksandre.tasktrackerapi.dto.response.WebhookResponse;
+import naneishvili.aleksandre.tasktrackerapi.entity.WebhookSubscription;
+import naneishvili.aleksandre.tasktrackerapi.enums.Role;
+import naneishvili.aleksandre.tasktrackerapi.exception.BadRequestException;
+import naneishvili.aleksandre.tasktrackerapi.exception.ResourceNotFoundException;
+import naneishvili.aleksandre.tasktrackerapi.exception.UnauthorizedException;
+import naneishvili.aleksandre.tasktrackerapi.mapper.WebhookMapper;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeadLetterRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookDeliveryRepository;
+import naneishvili.aleksandre.tasktrackerapi.repository.WebhookSubscriptionRepository;
+import naneishvili.aleksandre.tasktrackerapi.security.CurrentUser;
+import naneishvili.aleksandre.tasktrackerapi.service.ProjectService;
+import naneishvili.aleksandre.tasktrackerapi.service.WebhookUrlPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookServiceImplTest {
+
+    private static final CurrentUser ADMIN = new CurrentUser(1L, "admin@example.com", Role.ADMIN);
+    private static final CurrentUser OWNER = new CurrentUser(2L, "manager@example.com", Role.MANAGER);
+    private static final CurrentUser OTHER_MANAGER = new CurrentUser(3L, "another@example.com", Role.MANAGER);
+
+    @Mock
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @Mock
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Mock
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Mock
+    private WebhookMapper webhookMapper;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private WebhookUrlPolicy webhookUrlPolicy;
+
+    @InjectMocks
+    private WebhookServiceImpl webhookService;
+
+    private WebhookCreateRequest createRequest;
+
+    @BeforeEach
+    void setUp() {
+        createRequest = new WebhookCreateRequest();
+        createRequest.setUrl("https://hooks.example.com/tasks");
+    }
+
+    @Test
+    void createWebhook_AsProjectOwner_SavesSubscriptionAndReturnsItsSecretOnce() {
+        WebhookResponse response = new WebhookResponse();
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(webhookSubscriptionRepository.save(any(WebhookSubscription.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(webhookMapper.toResponse(any(WebhookSubscription.class))).thenReturn(response);
+
+        assertThat(webhookService.createWebhook(1L, createRequest, OWNER)).isSameAs(response);
+
+        ArgumentCaptor<WebhookSubscription> saved = ArgumentCaptor.forClass(WebhookSubscription.class);
+        verify(webhookSubscriptionRepository).save(saved.capture());
+        assertThat(saved.getValue().getProjectId()).isEqualTo(1L);
+        assertThat(saved.getValue().getUrl()).isEqualTo("https://hooks.example.com/tasks");
+        assertThat(saved.getValue().getNextAttemptAt()).isNull();
+        assertThat(saved.getValue().getSecret()).hasSize(64).isHexadecimal();
+        assertThat(response.getSecret()).isEqualTo(saved.getValue().getSecret());
+    }
+
+    @Test
+    void createWebhook_UrlRefusedByPolicy_ThrowsBadRequestException() {
+        createRequest.setUrl("http://169.254.169.254/latest/meta-data");
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(webhookUrlPolicy.violation("http://169.254.169.254/latest/meta-data"))
+                .thenReturn("Webhook host 169.254.169.254 resolves to a non-public address");
+
+        assertThatThrownBy(() -> webhookService.createWebhook(1L, createRequest, OWNER))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("non-public address");
+        verifyNoInteractions(webhookSubscriptionRepository);
+    }
+
+    @Test
+    void createWebhook_AsNonOwnerManager_ThrowsUnauthorizedException() {
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> webhookService.createWebhook(1L, createRequest, OTHER_MANAGER))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(webhookSubscriptionRepository);
+    }
+
+    @Test
+    void deleteWebhook_AsAdmin_DropsQueuedDeliveries() {
+        WebhookSubscription subscription = new WebhookSubscription(5L, 1L, "https://hooks.example.com/tasks",
+                "secret", 0, null, null);
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(webhookSubscriptionRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.of(subscription));
+
+        webhookService.deleteWebhook(1L, 5L, ADMIN);
+
+        verify(webhookDeliveryRepository).deleteBySubscriptionId(5L);
+        verify(webhookSubscriptionRepository).delete(subscription);
+    }
+
+    @Test
+    void deleteWebhook_OfAnotherProject_ThrowsResourceNotFoundException() {
+        when(projectService.findOwnerId(1L)).thenReturn(2L);
+        when(webhookSubscriptionRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> webhookService.deleteWebhook(1L, 5L, OWNER))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(webhookDeliveryRepository, never()).deleteBySubscriptionId(any());
+    }
+}